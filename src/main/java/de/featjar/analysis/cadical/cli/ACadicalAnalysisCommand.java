@@ -21,10 +21,18 @@
 package de.featjar.analysis.cadical.cli;
 
 import de.featjar.analysis.AAnalysisCommand;
+import de.featjar.analysis.cadical.io.PreparedFormulaCache;
+import de.featjar.analysis.cadical.solver.SolverGovernor;
+import de.featjar.base.FeatJAR;
 import de.featjar.base.cli.Option;
 import de.featjar.base.cli.OptionList;
+import de.featjar.base.computation.AComputation;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Problem.Severity;
+import de.featjar.base.data.Result;
 import de.featjar.base.io.IO;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.ComputeBooleanClauseList;
@@ -32,6 +40,10 @@ import de.featjar.formula.computation.ComputeCNFFormula;
 import de.featjar.formula.computation.ComputeNNFFormula;
 import de.featjar.formula.io.FormulaFormats;
 import de.featjar.formula.structure.IFormula;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 
 public abstract class ACadicalAnalysisCommand<T, U> extends AAnalysisCommand<T> {
 
@@ -42,20 +54,117 @@ public abstract class ACadicalAnalysisCommand<T, U> extends AAnalysisCommand<T>
             .setDescription("Seed for the pseudo random generator") //
             .setDefaultValue(1L);
 
-    protected IFormula inputFormula;
+    /**
+     * Option for setting a directory in which prepared clause lists are stored and reused.
+     */
+    public static final Option<Path> CACHE_OPTION = Option.newOption("cache", Option.PathParser) //
+            .setDescription("Directory for storing prepared clause lists of input files");
+
+    /**
+     * Option for setting the maximum number of concurrently running solver processes.
+     */
+    public static final Option<Integer> MAX_SOLVERS_OPTION = Option.newOption("max-solvers", Option.IntegerParser) //
+            .setDescription("Maximum number of concurrently running solver processes");
+
+    /**
+     * Option for setting the memory budget shared by all running solver processes.
+     */
+    public static final Option<Long> MEMORY_BUDGET_OPTION = Option.newOption("memory-budget", Option.LongParser) //
+            .setDescription("Estimated memory in MiB that all running solver processes may use together");
+
+    /**
+     * Option for setting the memory limit of each solver process.
+     */
+    public static final Option<Long> SOLVER_MEMORY_LIMIT_OPTION = Option.newOption(
+                    "solver-memory-limit", Option.LongParser) //
+            .setDescription("Virtual memory limit in MiB of each solver process");
+
+    /**
+     * Option for setting the CPU time limit of each solver process.
+     */
+    public static final Option<Long> SOLVER_CPU_LIMIT_OPTION = Option.newOption(
+                    "solver-cpu-limit", Option.LongParser) //
+            .setDescription("CPU time limit in seconds of each solver process");
+
+    private Path inputPath;
+    private IFormula inputFormula;
 
     @Override
     protected IComputation<T> newComputation(OptionList optionParser) {
-        inputFormula = optionParser
-                .getResult(INPUT_OPTION)
-                .flatMap(p -> IO.load(p, FormulaFormats.getInstance()))
-                .orElseThrow();
-        return newAnalysis(
-                optionParser,
-                Computations.of(inputFormula)
-                        .map(ComputeNNFFormula::new)
-                        .map(ComputeCNFFormula::new)
-                        .map(ComputeBooleanClauseList::new));
+        configureGovernor(optionParser);
+        inputPath = optionParser.getResult(INPUT_OPTION).orElseThrow();
+        inputFormula = null;
+        Result<Path> cacheDirectory = optionParser.getResult(CACHE_OPTION);
+        if (cacheDirectory.isEmpty()) {
+            return newAnalysis(optionParser, prepareFormula());
+        }
+
+        PreparedFormulaCache cache = new PreparedFormulaCache(cacheDirectory.get());
+        Result<BooleanAssignmentList> cachedClauseList = cache.load(inputPath);
+        if (cachedClauseList.isPresent()) {
+            return newAnalysis(optionParser, Computations.of(cachedClauseList.get()));
+        }
+        BooleanAssignmentList clauseList = prepareFormula().computeResult().orElseThrow();
+        try {
+            cache.save(inputPath, clauseList);
+        } catch (IOException e) {
+            FeatJAR.log().warning("could not store prepared formula: " + e.getMessage());
+        }
+        return newAnalysis(optionParser, Computations.of(clauseList));
+    }
+
+    private static void configureGovernor(OptionList optionParser) {
+        Result<Integer> maxSolvers = optionParser.getResult(MAX_SOLVERS_OPTION);
+        Result<Long> memoryBudget = optionParser.getResult(MEMORY_BUDGET_OPTION);
+        Result<Long> memoryLimit = optionParser.getResult(SOLVER_MEMORY_LIMIT_OPTION);
+        Result<Long> cpuLimit = optionParser.getResult(SOLVER_CPU_LIMIT_OPTION);
+        if (maxSolvers.isEmpty() && memoryBudget.isEmpty() && memoryLimit.isEmpty() && cpuLimit.isEmpty()) {
+            return;
+        }
+        SolverGovernor defaultGovernor = SolverGovernor.getDefault();
+        SolverGovernor.setDefault(new SolverGovernor(
+                maxSolvers.orElse(defaultGovernor.getMaximumProcessCount()),
+                memoryBudget.map(mib -> mib << 20).orElse(defaultGovernor.getMemoryBudget()),
+                defaultGovernor.getMaximumQueueLength(),
+                memoryLimit.map(mib -> mib << 20).orElse(defaultGovernor.getProcessMemoryLimit()),
+                cpuLimit.map(Duration::ofSeconds).orElse(defaultGovernor.getProcessCpuLimit())));
+    }
+
+    /**
+     * Returns the parsed input formula. The input file is only parsed on the first call, so that commands that do
+     * not need the formula can reuse a prepared clause list without parsing the input file.
+     *
+     * @return the input formula
+     */
+    protected IFormula getInputFormula() {
+        if (inputFormula == null) {
+            inputFormula = IO.load(inputPath, FormulaFormats.getInstance()).orElseThrow();
+        }
+        return inputFormula;
+    }
+
+    private IComputation<BooleanAssignmentList> prepareFormula() {
+        return Computations.of(getInputFormula())
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+    }
+
+    /**
+     * Creates a computation that fails with the given message, so that invalid combinations of options are reported
+     * like any other error of the analysis.
+     *
+     * @param <V> the type of the result
+     * @param message the error message
+     * @return the failing computation
+     */
+    protected static <V> IComputation<V> newError(String message) {
+        return new AComputation<V>() {
+            @Override
+            public Result<V> compute(List<Object> dependencyList, Progress progress) {
+                return Result.empty(new Problem(message, Severity.ERROR));
+            }
+        };
     }
 
     protected abstract IComputation<T> newAnalysis(
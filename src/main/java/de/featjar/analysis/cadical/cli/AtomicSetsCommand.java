@@ -37,6 +37,16 @@ public class AtomicSetsCommand extends ACadicalAnalysisCommand<BooleanAssignment
             .setDescription("Omits sets with only one element");
     public static final Option<Boolean> OMIT_CORE =
             Option.newFlag("omit-core").setDefaultValue(Boolean.FALSE).setDescription("Omits set containing core");
+    public static final Option<Boolean> STREAM = Option.newFlag("stream")
+            .setDefaultValue(Boolean.FALSE)
+            .setDescription("Prints each set to the standard output as soon as it is found instead of collecting"
+                    + " all sets (cannot be combined with an output file)");
+
+    public static final Option<Integer> WORKERS = Option.newOption("workers", Option.IntegerParser)
+            .setDefaultValue(0)
+            .setDescription("Number of local worker processes (0 computes all sets in this process)");
+
+    private boolean streaming;
 
     @Override
     public Optional<String> getDescription() {
@@ -46,9 +56,21 @@ public class AtomicSetsCommand extends ACadicalAnalysisCommand<BooleanAssignment
     @Override
     public IComputation<BooleanAssignmentList> newAnalysis(
             OptionList optionParser, IComputation<BooleanAssignmentList> formula) {
-        return formula.map(ComputeAtomicCadiCal::new)
+        IComputation<BooleanAssignmentList> computation = formula.map(ComputeAtomicCadiCal::new)
                 .set(ComputeAtomicCadiCal.OMIT_CORE, optionParser.get(OMIT_CORE))
-                .set(ComputeAtomicCadiCal.OMIT_SINGLE_SETS, optionParser.get(OMIT_SINGLE_SETS));
+                .set(ComputeAtomicCadiCal.OMIT_SINGLE_SETS, optionParser.get(OMIT_SINGLE_SETS))
+                .set(ComputeAtomicCadiCal.WORKER_COUNT, optionParser.get(WORKERS));
+        streaming = optionParser.get(STREAM);
+        if (streaming) {
+            if (optionParser.getResult(OUTPUT_OPTION).isPresent()) {
+                // streamed sets are not collected, so there would be nothing to write
+                return newError("Streaming atomic sets cannot be combined with an output file");
+            }
+            computation = computation
+                    .set(ComputeAtomicCadiCal.ATOMIC_SET_CONSUMER, atomicSet -> System.out.println(atomicSet.print()))
+                    .set(ComputeAtomicCadiCal.COLLECT_SETS, Boolean.FALSE);
+        }
+        return computation;
     }
 
     @Override
@@ -63,7 +85,7 @@ public class AtomicSetsCommand extends ACadicalAnalysisCommand<BooleanAssignment
 
     @Override
     public String printResult(BooleanAssignmentList list) {
-        return list.print();
+        return streaming ? "" : list.print();
     }
 
     @Override
@@ -21,14 +21,25 @@
 package de.featjar.analysis.cadical.cli;
 
 import de.featjar.analysis.cadical.computation.ComputeCoreCadiCal;
+import de.featjar.analysis.cadical.solver.BackboneAlgorithm;
+import de.featjar.base.cli.Option;
 import de.featjar.base.cli.OptionList;
 import de.featjar.base.computation.IComputation;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.Locale;
 import java.util.Optional;
 
 public class CoreCommand extends ACadicalAnalysisCommand<BooleanAssignment, BooleanAssignment> {
 
+    public static final Option<BackboneAlgorithm> ALGORITHM = Option.newOption(
+                    "algorithm", s -> BackboneAlgorithm.valueOf(s.toUpperCase(Locale.ENGLISH)))
+            .setDefaultValue(BackboneAlgorithm.CADIBACK)
+            .setDescription("Backbone algorithm (cadiback, iterative, chunked)");
+    public static final Option<Integer> CHUNK_SIZE = Option.newOption("chunk-size", Option.IntegerParser)
+            .setDefaultValue(ComputeCoreCadiCal.DEFAULT_CHUNK_SIZE)
+            .setDescription("Number of literals tested at once by the chunked backbone algorithm");
+
     @Override
     public Optional<String> getDescription() {
         return Optional.of("Computes core and dead variables for a given formula using cadical");
@@ -37,7 +48,9 @@ public class CoreCommand extends ACadicalAnalysisCommand<BooleanAssignment, Bool
     @Override
     public IComputation<BooleanAssignment> newAnalysis(
             OptionList optionParser, IComputation<BooleanAssignmentList> formula) {
-        return formula.map(ComputeCoreCadiCal::new);
+        return formula.map(ComputeCoreCadiCal::new)
+                .set(ComputeCoreCadiCal.ALGORITHM, optionParser.get(ALGORITHM))
+                .set(ComputeCoreCadiCal.CHUNK_SIZE, optionParser.get(CHUNK_SIZE));
     }
 
     @Override
@@ -21,22 +21,51 @@
 package de.featjar.analysis.cadical.computation;
 
 import de.featjar.analysis.cadical.solver.CadiCalSolver;
+import de.featjar.analysis.cadical.solver.ClauseStore;
 import de.featjar.base.FeatJAR;
 import de.featjar.base.computation.AComputation;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import java.time.Duration;
 import java.util.List;
 
 public abstract class ACadiCalAnalysis<T> extends AComputation<T> {
+
+    /**
+     * The clauses of the formula as a clause list, from which {@link #CLAUSES} is converted by default.
+     * Analyses only read the clauses from {@link #CLAUSES}.
+     */
     public static final Dependency<BooleanAssignmentList> FORMULA =
             Dependency.newDependency(BooleanAssignmentList.class);
     public static final Dependency<Duration> TIMEOUT = Dependency.newDependency(Duration.class);
 
+    /**
+     * The clauses of the formula as a {@link ClauseStore}, which the solver works on.
+     * By default, they are converted from {@link #FORMULA}. Setting an existing store with the same clauses avoids the
+     * conversion. Analyses do not modify the store.
+     */
+    public static final Dependency<ClauseStore> CLAUSES = Dependency.newDependency(ClauseStore.class);
+
     public ACadiCalAnalysis(IComputation<BooleanAssignmentList> formula, Object... dependencies) {
-        super(formula, Computations.of(Duration.ZERO), dependencies);
+        super(formula, Computations.of(Duration.ZERO), new ComputeClauseStore(formula), dependencies);
+    }
+
+    /**
+     * Creates an analysis of the given clauses without converting them from a clause list.
+     * {@link #FORMULA} then holds an empty clause list.
+     *
+     * @param clauses the clauses
+     * @param dependencies the dependencies of the subclass
+     */
+    public ACadiCalAnalysis(IComputation<ClauseStore> clauses, IComputation<?>... dependencies) {
+        super(
+                Computations.of(new BooleanAssignmentList(new VariableMap())),
+                Computations.of(Duration.ZERO),
+                clauses,
+                dependencies);
     }
 
     public ACadiCalAnalysis(ACadiCalAnalysis<?> other) {
@@ -44,11 +73,11 @@ public abstract class ACadiCalAnalysis<T> extends AComputation<T> {
     }
 
     public CadiCalSolver initializeSolver(List<Object> dependencyList) {
-        BooleanAssignmentList formula = FORMULA.get(dependencyList);
+        ClauseStore clauses = CLAUSES.get(dependencyList);
         Duration timeout = TIMEOUT.get(dependencyList);
         FeatJAR.log().debug("initializing cadical solver");
-        FeatJAR.log().debug(formula);
-        CadiCalSolver solver = new CadiCalSolver(formula);
+        FeatJAR.log().debug("%d clauses", clauses.getClauseCount());
+        CadiCalSolver solver = new CadiCalSolver(clauses);
         solver.setTimeout(timeout);
         return solver;
     }
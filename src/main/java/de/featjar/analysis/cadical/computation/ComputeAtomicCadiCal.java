@@ -20,7 +20,9 @@
  */
 package de.featjar.analysis.cadical.computation;
 
+import de.featjar.analysis.cadical.distributed.AtomicSetsCoordinator;
 import de.featjar.analysis.cadical.solver.CadiCalSolver;
+import de.featjar.analysis.cadical.solver.ClauseStore;
 import de.featjar.base.FeatJAR;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
@@ -30,9 +32,12 @@ import de.featjar.base.data.Result;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.io.IOException;
 import java.time.Duration;
 import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 public class ComputeAtomicCadiCal extends ACadiCalAnalysis<BooleanAssignmentList> {
 
@@ -41,12 +46,44 @@ public class ComputeAtomicCadiCal extends ACadiCalAnalysis<BooleanAssignmentList
     public static final Dependency<Boolean> OMIT_SINGLE_SETS = Dependency.newDependency(Boolean.class);
     public static final Dependency<Boolean> OMIT_CORE = Dependency.newDependency(Boolean.class);
 
+    /**
+     * Receives each atomic set as soon as it is found.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static final Dependency<Consumer<BooleanAssignment>> ATOMIC_SET_CONSUMER =
+            (Dependency) Dependency.newDependency(Consumer.class);
+
+    /**
+     * Whether found atomic sets are collected in the returned list.
+     * Can be disabled when all sets are processed by the {@link #ATOMIC_SET_CONSUMER}.
+     */
+    public static final Dependency<Boolean> COLLECT_SETS = Dependency.newDependency(Boolean.class);
+
+    /**
+     * Number of worker JVMs started on this machine. With zero workers, all sets are computed in this thread.
+     */
+    public static final Dependency<Integer> WORKER_COUNT = Dependency.newDependency(Integer.class);
+
     public ComputeAtomicCadiCal(IComputation<BooleanAssignmentList> clauseList) {
         super(
                 clauseList,
                 Computations.of(new BooleanAssignment()),
                 Computations.of(Boolean.FALSE),
-                Computations.of(Boolean.FALSE));
+                Computations.of(Boolean.FALSE),
+                Computations.of((Consumer<BooleanAssignment>) atomicSet -> {}),
+                Computations.of(Boolean.TRUE),
+                Computations.of(0));
+    }
+
+    public ComputeAtomicCadiCal(ClauseStore clauses) {
+        super(
+                Computations.of(clauses),
+                Computations.of(new BooleanAssignment()),
+                Computations.of(Boolean.FALSE),
+                Computations.of(Boolean.FALSE),
+                Computations.of((Consumer<BooleanAssignment>) atomicSet -> {}),
+                Computations.of(Boolean.TRUE),
+                Computations.of(0));
     }
 
     public ComputeAtomicCadiCal(ComputeAtomicCadiCal other) {
@@ -55,11 +92,9 @@ public class ComputeAtomicCadiCal extends ACadiCalAnalysis<BooleanAssignmentList
 
     @Override
     public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
-        BooleanAssignmentList formula = FORMULA.get(dependencyList);
+        ClauseStore clauses = CLAUSES.get(dependencyList);
         Duration timeout = TIMEOUT.get(dependencyList);
-        FeatJAR.log().debug("initializing cadical solver");
-        FeatJAR.log().debug(formula);
-        VariableMap variableMap = formula.getVariableMap();
+        VariableMap variableMap = clauses.getVariableMap();
 
         BitSet computedVariables = new BitSet(variableMap.getVariableCount() + 1);
         BooleanAssignment variables = VARIABLES_OF_INTEREST.get(dependencyList);
@@ -68,10 +103,37 @@ public class ComputeAtomicCadiCal extends ACadiCalAnalysis<BooleanAssignmentList
         }
         boolean omitCore = OMIT_CORE.get(dependencyList);
         boolean omitSingles = OMIT_SINGLE_SETS.get(dependencyList);
+        Consumer<BooleanAssignment> consumer = ATOMIC_SET_CONSUMER.get(dependencyList);
+        boolean collectSets = COLLECT_SETS.get(dependencyList);
 
         BooleanAssignmentList atomicSets = new BooleanAssignmentList(variableMap);
+        Consumer<BooleanAssignment> publisher = collectSets ? consumer.andThen(atomicSets::add) : consumer;
 
-        CadiCalSolver solver = new CadiCalSolver(formula);
+        int workerCount = WORKER_COUNT.get(dependencyList);
+        if (workerCount > 0) {
+            AtomicBoolean isCore = new AtomicBoolean(true);
+            Consumer<BooleanAssignment> distributedPublisher = atomic -> {
+                if (isCore.getAndSet(false) ? !omitCore : (!omitSingles || atomic.size() > 1)) {
+                    publisher.accept(atomic);
+                }
+            };
+            Result<Integer> distributedSetCount;
+            try (AtomicSetsCoordinator coordinator =
+                    new AtomicSetsCoordinator(clauses, timeout, AtomicSetsCoordinator.DEFAULT_SHARD_SIZE)) {
+                coordinator.startLocalWorkers(workerCount);
+                distributedSetCount = coordinator.compute(variables, distributedPublisher, progress);
+            } catch (IOException e) {
+                return Result.empty(e);
+            }
+            return distributedSetCount.isEmpty() ? distributedSetCount.merge(Result.empty()) : Result.of(atomicSets);
+        }
+
+        progress.setTotalSteps(variables.size() + 1);
+
+        // the unit clauses of each atomic set query are added to a copy, as the dependency must not be modified
+        FeatJAR.log().debug("initializing cadical solver");
+        FeatJAR.log().debug("%d clauses", clauses.getClauseCount());
+        CadiCalSolver solver = new CadiCalSolver(new ClauseStore(clauses));
         solver.setTimeout(timeout);
         Result<BooleanAssignment> coreResult = solver.core();
         if (coreResult.isEmpty()) {
@@ -82,44 +144,52 @@ public class ComputeAtomicCadiCal extends ACadiCalAnalysis<BooleanAssignmentList
             computedVariables.set(Math.abs(l));
         }
         if (!omitCore) {
-            atomicSets.add(core);
+            publisher.accept(core);
         }
+        progress.incrementCurrentStep();
 
         for (int variable : variables.get()) {
             if (!computedVariables.get(variable)) {
-                formula.add(new BooleanAssignment(variable));
-                solver = new CadiCalSolver(formula);
-                solver.setTimeout(timeout);
-                Result<BooleanAssignment> condionalCore1 = solver.core();
-                if (condionalCore1.isEmpty()) {
-                    return condionalCore1.merge(Result.empty());
+                Result<BooleanAssignment> atomicResult = computeAtomicSet(solver, core, variable);
+                if (atomicResult.isEmpty()) {
+                    return atomicResult.merge(Result.empty());
                 }
-                formula.remove();
-
-                if (condionalCore1.get().size() > core.size() + 1) {
-                    formula.add(new BooleanAssignment(-variable));
-                    solver = new CadiCalSolver(formula);
-                    solver.setTimeout(timeout);
-                    Result<BooleanAssignment> condionalCore2 = solver.core();
-                    if (condionalCore2.isEmpty()) {
-                        return condionalCore2.merge(Result.empty());
-                    }
-                    formula.remove();
-
-                    BooleanAssignment atomic = condionalCore1.get().retainAllNegated(condionalCore2.get());
-                    for (int l : atomic.get()) {
-                        computedVariables.set(Math.abs(l));
-                    }
-                    if (!omitSingles || atomic.size() > 1) {
-                        atomicSets.add(atomic);
-                    }
-                } else {
-                    if (!omitSingles) {
-                        atomicSets.add(new BooleanAssignment(variable));
-                    }
+                BooleanAssignment atomic = atomicResult.get();
+                for (int l : atomic.get()) {
+                    computedVariables.set(Math.abs(l));
+                }
+                if (!omitSingles || atomic.size() > 1) {
+                    publisher.accept(atomic);
                 }
             }
+            progress.incrementCurrentStep();
         }
         return Result.of(atomicSets);
     }
+
+    /**
+     * Computes the atomic set that contains the given variable by comparing the conditional cores of both of its
+     * literals. The unit clauses needed for this are added to the solver's clause store and rolled back afterwards.
+     *
+     * @param solver the solver for the formula
+     * @param core the core of the formula
+     * @param variable a variable that is not part of the core
+     * @return the atomic set, which contains only the variable itself if it is not equivalent to any other variable
+     */
+    public static Result<BooleanAssignment> computeAtomicSet(
+            CadiCalSolver solver, BooleanAssignment core, int variable) {
+        ClauseStore clauses = solver.getClauses();
+        int mark = clauses.mark();
+        clauses.add(variable);
+        Result<BooleanAssignment> condionalCore1 = solver.core();
+        clauses.rollback(mark);
+        if (condionalCore1.isEmpty() || condionalCore1.get().size() <= core.size() + 1) {
+            return condionalCore1.map(c -> new BooleanAssignment(variable));
+        }
+
+        clauses.add(-variable);
+        Result<BooleanAssignment> condionalCore2 = solver.core();
+        clauses.rollback(mark);
+        return condionalCore2.map(c -> condionalCore1.get().retainAllNegated(c));
+    }
 }
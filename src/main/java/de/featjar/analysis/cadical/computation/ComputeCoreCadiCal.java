@@ -20,6 +20,11 @@
  */
 package de.featjar.analysis.cadical.computation;
 
+import de.featjar.analysis.cadical.solver.BackboneAlgorithm;
+import de.featjar.analysis.cadical.solver.CadiCalSolver;
+import de.featjar.analysis.cadical.solver.ClauseStore;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.Result;
@@ -29,8 +34,33 @@ import java.util.List;
 
 public class ComputeCoreCadiCal extends ACadiCalAnalysis<BooleanAssignment> {
 
+    public static final int DEFAULT_CHUNK_SIZE = 16;
+
+    /**
+     * Variables of interest up to this fraction of all variables are tested directly instead of computing the full
+     * backbone.
+     */
+    public static final double PROJECTION_RATIO = 0.1;
+
+    public static final Dependency<BackboneAlgorithm> ALGORITHM = Dependency.newDependency(BackboneAlgorithm.class);
+    public static final Dependency<Integer> CHUNK_SIZE = Dependency.newDependency(Integer.class);
+    public static final Dependency<BooleanAssignment> VARIABLES_OF_INTEREST =
+            Dependency.newDependency(BooleanAssignment.class);
+
     public ComputeCoreCadiCal(IComputation<BooleanAssignmentList> cnfFormula) {
-        super(cnfFormula);
+        super(
+                cnfFormula,
+                Computations.of(BackboneAlgorithm.CADIBACK),
+                Computations.of(DEFAULT_CHUNK_SIZE),
+                Computations.of(new BooleanAssignment()));
+    }
+
+    public ComputeCoreCadiCal(ClauseStore clauses) {
+        super(
+                Computations.of(clauses),
+                Computations.of(BackboneAlgorithm.CADIBACK),
+                Computations.of(DEFAULT_CHUNK_SIZE),
+                Computations.of(new BooleanAssignment()));
     }
 
     public ComputeCoreCadiCal(ComputeCoreCadiCal other) {
@@ -39,6 +69,17 @@ public class ComputeCoreCadiCal extends ACadiCalAnalysis<BooleanAssignment> {
 
     @Override
     public Result<BooleanAssignment> compute(List<Object> dependencyList, Progress progress) {
-        return initializeSolver(dependencyList).core();
+        CadiCalSolver solver = initializeSolver(dependencyList);
+        BackboneAlgorithm algorithm = ALGORITHM.get(dependencyList);
+        int chunkSize = CHUNK_SIZE.get(dependencyList);
+        BooleanAssignment variables = VARIABLES_OF_INTEREST.get(dependencyList);
+        if (variables.isEmpty()) {
+            return solver.core(algorithm, chunkSize);
+        }
+        int variableCount = solver.getClauses().getVariableMap().getVariableCount();
+        if (algorithm == BackboneAlgorithm.CADIBACK && variables.size() <= variableCount * PROJECTION_RATIO) {
+            algorithm = BackboneAlgorithm.CHUNKED;
+        }
+        return solver.core(algorithm, chunkSize, variables);
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.computation;
+
+import de.featjar.analysis.cadical.solver.CadiCalSolver;
+import de.featjar.analysis.cadical.solver.ClauseStore;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Computes all literals that are implied by a partial assignment.
+ * The negations of the returned literals are the literals that are blocked by the assignment.
+ * The solver is kept across computations as long as the {@link #CLAUSES} dependency yields the same store, so
+ * interactive callers that only set new {@link #DECISIONS} benefit from the last found model.
+ */
+public class ComputeDecisionPropagationCadiCal extends ACadiCalAnalysis<BooleanAssignment> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 16;
+
+    public static final Dependency<BooleanAssignment> DECISIONS = Dependency.newDependency(BooleanAssignment.class);
+    public static final Dependency<Integer> CHUNK_SIZE = Dependency.newDependency(Integer.class);
+
+    /**
+     * Time after which the propagation stops and returns the literals found so far.
+     */
+    public static final Dependency<Duration> BUDGET = Dependency.newDependency(Duration.class);
+
+    private ClauseStore solverClauses;
+    private CadiCalSolver solver;
+
+    public ComputeDecisionPropagationCadiCal(IComputation<BooleanAssignmentList> cnfFormula) {
+        super(
+                cnfFormula,
+                Computations.of(new BooleanAssignment()),
+                Computations.of(DEFAULT_CHUNK_SIZE),
+                Computations.of(Duration.ZERO));
+    }
+
+    public ComputeDecisionPropagationCadiCal(ClauseStore clauses) {
+        super(
+                Computations.of(clauses),
+                Computations.of(new BooleanAssignment()),
+                Computations.of(DEFAULT_CHUNK_SIZE),
+                Computations.of(Duration.ZERO));
+    }
+
+    public ComputeDecisionPropagationCadiCal(ComputeDecisionPropagationCadiCal other) {
+        super(other);
+    }
+
+    @Override
+    public synchronized Result<BooleanAssignment> compute(List<Object> dependencyList, Progress progress) {
+        ClauseStore clauses = CLAUSES.get(dependencyList);
+        if (solver == null || solverClauses != clauses) {
+            solver = initializeSolver(dependencyList);
+            solverClauses = clauses;
+        } else {
+            solver.setTimeout(TIMEOUT.get(dependencyList));
+        }
+        return solver.propagate(
+                DECISIONS.get(dependencyList), CHUNK_SIZE.get(dependencyList), BUDGET.get(dependencyList));
+    }
+}
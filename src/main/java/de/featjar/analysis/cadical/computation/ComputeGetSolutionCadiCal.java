@@ -20,16 +20,40 @@
  */
 package de.featjar.analysis.cadical.computation;
 
+import de.featjar.analysis.cadical.solver.CadiCalSolver;
+import de.featjar.analysis.cadical.solver.ClauseStore;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanSolution;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 public class ComputeGetSolutionCadiCal extends ACadiCalAnalysis<BooleanSolution> {
+
+    public static final Dependency<BooleanAssignment> VARIABLES_OF_INTEREST =
+            Dependency.newDependency(BooleanAssignment.class);
+
+    /**
+     * Literals of a known or previous solution that guide the solver, see {@link CadiCalSolver#setPhaseHint}.
+     * An empty assignment means no hint.
+     */
+    public static final Dependency<BooleanAssignment> PHASE_HINT = Dependency.newDependency(BooleanAssignment.class);
+
     public ComputeGetSolutionCadiCal(IComputation<BooleanAssignmentList> cnfFormula) {
-        super(cnfFormula);
+        super(cnfFormula, Computations.of(new BooleanAssignment()), Computations.of(new BooleanAssignment()));
+    }
+
+    public ComputeGetSolutionCadiCal(ClauseStore clauses) {
+        super(
+                Computations.of(clauses),
+                Computations.of(new BooleanAssignment()),
+                Computations.of(new BooleanAssignment()));
     }
 
     public ComputeGetSolutionCadiCal(ComputeGetSolutionCadiCal other) {
@@ -38,6 +62,28 @@ public class ComputeGetSolutionCadiCal extends ACadiCalAnalysis<BooleanSolution>
 
     @Override
     public Result<BooleanSolution> compute(List<Object> dependencyList, Progress progress) {
-        return initializeSolver(dependencyList).getSolution();
+        CadiCalSolver solver = initializeSolver(dependencyList);
+        BooleanAssignment phaseHint = PHASE_HINT.get(dependencyList);
+        if (!phaseHint.isEmpty()) {
+            solver.setPhaseHint(phaseHint);
+        }
+        Result<BooleanSolution> solution = solver.getSolution();
+        BooleanAssignment variables = VARIABLES_OF_INTEREST.get(dependencyList);
+        if (variables.isEmpty()) {
+            return solution;
+        }
+        BitSet variableSet = new BitSet();
+        for (int literal : variables.get()) {
+            variableSet.set(Math.abs(literal));
+        }
+        return solution.map(s -> {
+            int[] literals = Arrays.copyOf(s.get(), s.size());
+            for (int i = 0; i < literals.length; i++) {
+                if (!variableSet.get(Math.abs(literals[i]))) {
+                    literals[i] = 0;
+                }
+            }
+            return new BooleanSolution(literals);
+        });
     }
 }
@@ -20,6 +20,8 @@
  */
 package de.featjar.analysis.cadical.computation;
 
+import de.featjar.analysis.cadical.solver.ClauseStore;
+import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.Result;
@@ -32,6 +34,10 @@ public class ComputeHasSolutionCadiCal extends ACadiCalAnalysis<Boolean> {
         super(cnfFormula);
     }
 
+    public ComputeHasSolutionCadiCal(ClauseStore clauses) {
+        super(Computations.of(clauses));
+    }
+
     public ComputeHasSolutionCadiCal(ComputeHasSolutionCadiCal other) {
         super(other);
     }
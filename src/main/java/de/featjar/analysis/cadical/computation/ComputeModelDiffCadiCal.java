@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.computation;
+
+import de.featjar.analysis.cadical.computation.ModelDiff.Difference;
+import de.featjar.analysis.cadical.solver.CadiCalSolver;
+import de.featjar.analysis.cadical.solver.ClauseStore;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Problem.Severity;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares two versions of a formula over the same variables.
+ * A clause of one version is entailed by the other version if the other version together with the negated clause
+ * is unsatisfiable. Clauses that occur in both versions are skipped. The remaining clauses are checked in chunks: a
+ * selector variable per clause enforces the negation of that clause, and one additional clause requires at least one
+ * selector, so a single solver call proves a whole chunk entailed or yields a witness configuration.
+ * All chunks of both directions are submitted at once and run concurrently as far as the solver governor admits.
+ */
+public class ComputeModelDiffCadiCal extends ACadiCalAnalysis<ModelDiff> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 32;
+
+    /**
+     * The clauses of the new version of the formula. {@link #CLAUSES} are the clauses of the old version.
+     */
+    public static final Dependency<ClauseStore> OTHER_CLAUSES = Dependency.newDependency(ClauseStore.class);
+
+    /**
+     * Number of clauses checked by one solver call.
+     */
+    public static final Dependency<Integer> CHUNK_SIZE = Dependency.newDependency(Integer.class);
+
+    public ComputeModelDiffCadiCal(
+            IComputation<BooleanAssignmentList> oldFormula, IComputation<BooleanAssignmentList> newFormula) {
+        super(oldFormula, new ComputeClauseStore(newFormula), Computations.of(DEFAULT_CHUNK_SIZE));
+    }
+
+    public ComputeModelDiffCadiCal(ClauseStore oldClauses, ClauseStore newClauses) {
+        super(Computations.of(oldClauses), Computations.of(newClauses), Computations.of(DEFAULT_CHUNK_SIZE));
+    }
+
+    public ComputeModelDiffCadiCal(ComputeModelDiffCadiCal other) {
+        super(other);
+    }
+
+    @Override
+    public Result<ModelDiff> compute(List<Object> dependencyList, Progress progress) {
+        ClauseStore oldClauses = CLAUSES.get(dependencyList);
+        ClauseStore newClauses = OTHER_CLAUSES.get(dependencyList);
+        int chunkSize = CHUNK_SIZE.get(dependencyList);
+        if (chunkSize < 1) {
+            return Result.empty(
+                    new Problem(String.format("Chunk size must be positive, was %d", chunkSize), Severity.ERROR));
+        }
+        if (!haveSameVariables(oldClauses.getVariableMap(), newClauses.getVariableMap())) {
+            return Result.empty(new Problem("Both formulas must use the same variable map", Severity.ERROR));
+        }
+
+        CadiCalSolver oldSolver = initializeSolver(dependencyList);
+        CadiCalSolver newSolver = new CadiCalSolver(newClauses);
+        newSolver.setTimeout(oldSolver.getTimeout());
+        newSolver.setGovernor(oldSolver.getGovernor());
+        int variableCount = Math.max(oldClauses.getVariableCount(), newClauses.getVariableCount());
+
+        List<List<int[]>> removedChunks = chunk(newClauses, oldClauses, chunkSize);
+        List<List<int[]>> addedChunks = chunk(oldClauses, newClauses, chunkSize);
+        progress.setTotalSteps(removedChunks.size() + addedChunks.size());
+
+        List<CompletableFuture<Result<List<Difference>>>> removedFutures = new ArrayList<>(removedChunks.size());
+        for (List<int[]> clauses : removedChunks) {
+            removedFutures.add(checkEntailment(oldSolver, clauses, variableCount));
+        }
+        List<CompletableFuture<Result<List<Difference>>>> addedFutures = new ArrayList<>(addedChunks.size());
+        for (List<int[]> clauses : addedChunks) {
+            addedFutures.add(checkEntailment(newSolver, clauses, variableCount));
+        }
+
+        List<CompletableFuture<Result<List<Difference>>>> futures = new ArrayList<>(removedFutures);
+        futures.addAll(addedFutures);
+        Result<List<Difference>> removed = collect(removedFutures, futures, progress);
+        if (removed.isEmpty()) {
+            return removed.merge(Result.empty());
+        }
+        Result<List<Difference>> added = collect(addedFutures, futures, progress);
+        if (added.isEmpty()) {
+            return added.merge(Result.empty());
+        }
+        return Result.of(new ModelDiff(removed.get(), added.get()));
+    }
+
+    private static boolean haveSameVariables(VariableMap variableMap, VariableMap otherVariableMap) {
+        int[] variables = variableMap.getVariables().get();
+        if (!Arrays.equals(variables, otherVariableMap.getVariables().get())) {
+            return false;
+        }
+        for (int variable : variables) {
+            if (!Objects.equals(variableMap.get(variable).orElse(null), otherVariableMap.get(variable).orElse(null))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits the clauses of the given formula that do not occur in the other formula into chunks.
+     */
+    private static List<List<int[]>> chunk(ClauseStore clauses, ClauseStore otherClauses, int chunkSize) {
+        Set<String> normalizedOtherClauses = new HashSet<>();
+        for (int i = 0; i < otherClauses.getClauseCount(); i++) {
+            normalizedOtherClauses.add(normalize(otherClauses.getClause(i)));
+        }
+        List<List<int[]>> chunks = new ArrayList<>();
+        List<int[]> chunk = new ArrayList<>(chunkSize);
+        for (int i = 0; i < clauses.getClauseCount(); i++) {
+            int[] clause = clauses.getClause(i);
+            if (!normalizedOtherClauses.contains(normalize(clause))) {
+                chunk.add(clause);
+                if (chunk.size() == chunkSize) {
+                    chunks.add(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static String normalize(int[] clause) {
+        int[] sorted = Arrays.copyOf(clause, clause.length);
+        Arrays.sort(sorted);
+        return Arrays.toString(sorted);
+    }
+
+    /**
+     * Checks which of the given clauses are not entailed by the solver's formula.
+     * Each satisfying assignment found violates at least one clause, which is recorded with the assignment as
+     * witness and removed from the chunk before the remaining clauses are checked again.
+     * Cancelling the returned future stops the running solver process.
+     */
+    private static CompletableFuture<Result<List<Difference>>> checkEntailment(
+            CadiCalSolver solver, List<int[]> clauses, int variableCount) {
+        CompletableFuture<Result<List<Difference>>> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<?>> run = new AtomicReference<>();
+        result.whenComplete((differences, throwable) -> {
+            CompletableFuture<?> runningCheck = run.get();
+            if (result.isCancelled() && runningCheck != null) {
+                runningCheck.cancel(true);
+            }
+        });
+        int[] remaining = IntStream.range(0, clauses.size()).toArray();
+        checkEntailment(solver, clauses, remaining, variableCount, new Difference[clauses.size()], result, run);
+        return result;
+    }
+
+    private static void checkEntailment(
+            CadiCalSolver solver,
+            List<int[]> clauses,
+            int[] remaining,
+            int variableCount,
+            Difference[] differences,
+            CompletableFuture<Result<List<Difference>>> result,
+            AtomicReference<CompletableFuture<?>> run) {
+        if (remaining.length == 0) {
+            result.complete(Result.of(toList(differences)));
+            return;
+        }
+        List<int[]> selectorClauses = new ArrayList<>();
+        int[] atLeastOneSelector = new int[remaining.length];
+        for (int i = 0; i < remaining.length; i++) {
+            int selector = variableCount + i + 1;
+            atLeastOneSelector[i] = selector;
+            for (int literal : clauses.get(remaining[i])) {
+                selectorClauses.add(new int[] {-selector, -literal});
+            }
+        }
+        selectorClauses.add(atLeastOneSelector);
+
+        CompletableFuture<Result<BooleanSolution>> check = solver.getSolutionAsync(selectorClauses);
+        run.set(check);
+        if (result.isCancelled()) {
+            check.cancel(true);
+            return;
+        }
+        check.whenComplete((solution, throwable) -> {
+            if (throwable != null) {
+                result.complete(Result.empty(new IOException(throwable)));
+                return;
+            }
+            if (solution.isEmpty()) {
+                result.complete(
+                        solution.getProblems().isEmpty()
+                                ? Result.of(toList(differences))
+                                : solution.merge(Result.empty()));
+                return;
+            }
+            int[] model = solution.get().get();
+            int[] witness = Arrays.copyOf(model, Math.min(variableCount, model.length));
+            int[] remainingClauses = new int[remaining.length];
+            int remainingCount = 0;
+            for (int i : remaining) {
+                int[] clause = clauses.get(i);
+                if (isViolated(clause, witness)) {
+                    differences[i] = new Difference(new BooleanAssignment(clause), new BooleanSolution(witness));
+                } else {
+                    remainingClauses[remainingCount++] = i;
+                }
+            }
+            if (remainingCount == remaining.length) {
+                result.complete(Result.empty(new Problem("Solver model violates no selected clause", Severity.ERROR)));
+                return;
+            }
+            checkEntailment(
+                    solver,
+                    clauses,
+                    Arrays.copyOf(remainingClauses, remainingCount),
+                    variableCount,
+                    differences,
+                    result,
+                    run);
+        });
+    }
+
+    /*
+     * Differences are found in the order of the witnesses, so they are reported in the order of the clauses instead.
+     */
+    private static List<Difference> toList(Difference[] differences) {
+        return Arrays.stream(differences).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private static boolean isViolated(int[] clause, int[] model) {
+        for (int literal : clause) {
+            int variable = Math.abs(literal);
+            if (variable <= model.length && model[variable - 1] == literal) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Result<List<Difference>> collect(
+            List<CompletableFuture<Result<List<Difference>>>> futures,
+            List<CompletableFuture<Result<List<Difference>>>> allFutures,
+            Progress progress) {
+        List<Difference> differences = new ArrayList<>();
+        for (CompletableFuture<Result<List<Difference>>> future : futures) {
+            Result<List<Difference>> result = future.join();
+            if (result.isEmpty()) {
+                allFutures.forEach(f -> f.cancel(true));
+                return result;
+            }
+            differences.addAll(result.get());
+            progress.incrementCurrentStep();
+        }
+        return Result.of(differences);
+    }
+}
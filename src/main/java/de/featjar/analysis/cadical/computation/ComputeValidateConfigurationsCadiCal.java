@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.computation;
+
+import de.featjar.analysis.cadical.solver.CadiCalSolver;
+import de.featjar.analysis.cadical.solver.ClauseStore;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Checks a list of configurations against a formula.
+ * Configurations that assign both literals of a variable or a literal of an unknown variable are invalid.
+ * Complete configurations are evaluated directly on the clauses without starting a solver.
+ * Partial configurations are checked by one shared solver, with the configuration passed as assumptions.
+ */
+public class ComputeValidateConfigurationsCadiCal extends ACadiCalAnalysis<List<ConfigurationValidity>> {
+
+    public static final Dependency<BooleanAssignmentList> CONFIGURATIONS =
+            Dependency.newDependency(BooleanAssignmentList.class);
+
+    /**
+     * Whether invalid partial configurations are reduced to a minimal explanation.
+     * This needs one solver call per literal of each invalid configuration.
+     */
+    public static final Dependency<Boolean> EXPLAIN = Dependency.newDependency(Boolean.class);
+
+    public ComputeValidateConfigurationsCadiCal(
+            IComputation<BooleanAssignmentList> cnfFormula, IComputation<BooleanAssignmentList> configurations) {
+        super(cnfFormula, configurations, Computations.of(Boolean.TRUE));
+    }
+
+    public ComputeValidateConfigurationsCadiCal(
+            ClauseStore clauses, IComputation<BooleanAssignmentList> configurations) {
+        super(Computations.of(clauses), configurations, Computations.of(Boolean.TRUE));
+    }
+
+    public ComputeValidateConfigurationsCadiCal(ComputeValidateConfigurationsCadiCal other) {
+        super(other);
+    }
+
+    @Override
+    public Result<List<ConfigurationValidity>> compute(List<Object> dependencyList, Progress progress) {
+        ClauseStore clauses = CLAUSES.get(dependencyList);
+        BooleanAssignmentList configurations = CONFIGURATIONS.get(dependencyList);
+        boolean explain = EXPLAIN.get(dependencyList);
+        int[] variables = clauses.getVariableMap().getVariables().get();
+        BitSet knownVariables = new BitSet();
+        for (int variable : variables) {
+            knownVariables.set(variable);
+        }
+        progress.setTotalSteps(configurations.size());
+
+        CadiCalSolver solver = null;
+        List<ConfigurationValidity> validities = new ArrayList<>(configurations.size());
+        // sized by the highest variable index, as the variable map may have gaps
+        int[] values = new int[clauses.getVariableCount()];
+        for (BooleanAssignment configuration : configurations.getAll()) {
+            BooleanAssignment conflict = assign(configuration, knownVariables, values);
+            if (conflict != null) {
+                validities.add(ConfigurationValidity.invalid(conflict));
+            } else if (isComplete(variables, values)) {
+                validities.add(evaluate(clauses, values));
+            } else {
+                if (solver == null) {
+                    solver = initializeSolver(dependencyList);
+                }
+                Result<Boolean> satisfiable = solver.hasSolution(configuration);
+                if (satisfiable.isEmpty()) {
+                    return satisfiable.merge(Result.empty());
+                }
+                if (satisfiable.get()) {
+                    validities.add(ConfigurationValidity.valid());
+                } else if (explain) {
+                    Result<BooleanAssignment> explanation = solver.explain(configuration);
+                    if (explanation.isEmpty()) {
+                        return explanation.merge(Result.empty());
+                    }
+                    validities.add(ConfigurationValidity.invalid(explanation.get()));
+                } else {
+                    validities.add(ConfigurationValidity.invalid(configuration));
+                }
+            }
+            progress.incrementCurrentStep();
+        }
+        return Result.of(validities);
+    }
+
+    /**
+     * Fills the given array with the literal of each variable {@code v} at index {@code v - 1}.
+     * Returns the literals that are invalid on their own, which are a literal of an unknown variable or both literals
+     * of a variable, or {@code null} if there are none.
+     */
+    private static BooleanAssignment assign(BooleanAssignment configuration, BitSet knownVariables, int[] values) {
+        Arrays.fill(values, 0);
+        for (int literal : configuration.get()) {
+            int variable = Math.abs(literal);
+            if (!knownVariables.get(variable)) {
+                return new BooleanAssignment(literal);
+            }
+            if (values[variable - 1] == -literal) {
+                return new BooleanAssignment(-literal, literal);
+            }
+            values[variable - 1] = literal;
+        }
+        return null;
+    }
+
+    private static boolean isComplete(int[] variables, int[] values) {
+        for (int variable : variables) {
+            if (values[variable - 1] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ConfigurationValidity evaluate(ClauseStore clauses, int[] values) {
+        int violatedClause = clauses.getViolatedClause(values);
+        if (violatedClause < 0) {
+            return ConfigurationValidity.valid();
+        }
+        int[] violated = clauses.getClause(violatedClause);
+        for (int i = 0; i < violated.length; i++) {
+            violated[i] = -violated[i];
+        }
+        return ConfigurationValidity.invalid(new BooleanAssignment(violated));
+    }
+}
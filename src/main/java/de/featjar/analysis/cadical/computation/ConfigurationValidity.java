@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.computation;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+
+/**
+ * Validity of a single configuration as computed by {@link ComputeValidateConfigurationsCadiCal}.
+ */
+public class ConfigurationValidity {
+
+    private final boolean valid;
+    private final BooleanAssignment explanation;
+
+    public static ConfigurationValidity valid() {
+        return new ConfigurationValidity(true, new BooleanAssignment());
+    }
+
+    public static ConfigurationValidity invalid(BooleanAssignment explanation) {
+        return new ConfigurationValidity(false, explanation);
+    }
+
+    private ConfigurationValidity(boolean valid, BooleanAssignment explanation) {
+        this.valid = valid;
+        this.explanation = explanation;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Returns a subset of the configuration's literals that cannot be part of any valid configuration.
+     *
+     * @return the explanation, or an empty assignment for valid configurations
+     */
+    public BooleanAssignment getExplanation() {
+        return explanation;
+    }
+
+    @Override
+    public String toString() {
+        return valid ? "valid" : "invalid " + explanation.print();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.computation;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+import java.util.List;
+
+/**
+ * Semantic difference between two versions of a formula as computed by {@link ComputeModelDiffCadiCal}.
+ * Each difference is a clause of one version that is not entailed by the other version, together with a
+ * configuration that is valid in the other version but violates the clause.
+ */
+public class ModelDiff {
+
+    /**
+     * Relation between the configuration spaces of the old and the new version.
+     */
+    public enum Classification {
+        /** Both versions allow the same configurations. */
+        EQUIVALENT,
+        /** The new version allows all configurations of the old one and additional ones. */
+        GENERALIZATION,
+        /** The new version allows a subset of the configurations of the old one. */
+        SPECIALIZATION,
+        /** Both versions allow configurations that the other one does not allow. */
+        ARBITRARY
+    }
+
+    /**
+     * A clause that is not entailed by the other version of the formula.
+     */
+    public static class Difference {
+
+        private final BooleanAssignment clause;
+        private final BooleanAssignment witness;
+
+        public Difference(BooleanAssignment clause, BooleanAssignment witness) {
+            this.clause = clause;
+            this.witness = witness;
+        }
+
+        public BooleanAssignment getClause() {
+            return clause;
+        }
+
+        /**
+         * Returns a configuration that is valid in the other version of the formula but violates the clause.
+         *
+         * @return the witness configuration
+         */
+        public BooleanAssignment getWitness() {
+            return witness;
+        }
+
+        @Override
+        public String toString() {
+            return clause.print() + " violated by " + witness.print();
+        }
+    }
+
+    private final List<Difference> removedConfigurations;
+    private final List<Difference> addedConfigurations;
+
+    public ModelDiff(List<Difference> removedConfigurations, List<Difference> addedConfigurations) {
+        this.removedConfigurations = removedConfigurations;
+        this.addedConfigurations = addedConfigurations;
+    }
+
+    public Classification getClassification() {
+        if (removedConfigurations.isEmpty()) {
+            return addedConfigurations.isEmpty() ? Classification.EQUIVALENT : Classification.GENERALIZATION;
+        }
+        return addedConfigurations.isEmpty() ? Classification.SPECIALIZATION : Classification.ARBITRARY;
+    }
+
+    /**
+     * Returns the clauses of the new version that are not entailed by the old version.
+     * Their witnesses are configurations of the old version that the new version does not allow.
+     *
+     * @return the differences, in the order of the clauses of the new version
+     */
+    public List<Difference> getRemovedConfigurations() {
+        return removedConfigurations;
+    }
+
+    /**
+     * Returns the clauses of the old version that are not entailed by the new version.
+     * Their witnesses are configurations of the new version that the old version does not allow.
+     *
+     * @return the differences, in the order of the clauses of the old version
+     */
+    public List<Difference> getAddedConfigurations() {
+        return addedConfigurations;
+    }
+
+    @Override
+    public String toString() {
+        return getClassification().toString();
+    }
+}
@@ -0,0 +1,489 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.distributed;
+
+import de.featjar.analysis.cadical.io.CompactClauseFormat;
+import de.featjar.analysis.cadical.solver.CadiCalSolver;
+import de.featjar.analysis.cadical.solver.ClauseStore;
+import de.featjar.analysis.cadical.solver.SolverGovernor;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Distributes the computation of atomic sets to {@link AtomicSetsWorker workers} in other threads or JVMs.
+ * The formula is written once to a file in the compact clause format that all workers read. Variables are split into
+ * shards, which are sent to workers over a local socket with a line-based protocol. Shards of workers that disconnect
+ * before finishing, that report a failure, or that make no progress within the {@link #setTaskTimeout(Duration) task
+ * timeout} are assigned again. The computation fails once a shard has failed {@value #MAXIMUM_TASK_ATTEMPTS} times.
+ * Local workers that terminate while shards are open are restarted, unless they keep terminating without any shard
+ * being completed.
+ * Atomic sets are published as soon as all preceding shards are complete, so they are published in shard order and
+ * do not depend on which worker processed which shard.
+ * A coordinator computes atomic sets only once.
+ * Workers apply the limits of the {@link SolverGovernor#getDefault() default governor} that is set when the
+ * coordinator is created. As every worker runs one solver at a time, at most
+ * {@link SolverGovernor#getMaximumProcessCount()} local workers are started and each one receives an equal share of
+ * the memory budget. If no local workers are started, each worker receives the share of one solver process.
+ */
+public class AtomicSetsCoordinator implements AutoCloseable {
+
+    public static final int DEFAULT_SHARD_SIZE = 32;
+
+    static final String FORMULA = "FORMULA";
+    static final String TIMEOUT = "TIMEOUT";
+    static final String LIMITS = "LIMITS";
+    static final String CORE = "CORE";
+    static final String TASK = "TASK";
+    static final String SET = "SET";
+    static final String DONE = "DONE";
+    static final String FAIL = "FAIL";
+    static final String EXIT = "EXIT";
+
+    public static final int MAXIMUM_TASK_ATTEMPTS = 3;
+
+    /*
+     * A worker needs two solver calls per atomic set, and the first set of a shard also includes reading the formula.
+     */
+    private static final int SOLVER_CALLS_PER_SET = 2;
+    private static final Duration TASK_TIMEOUT_MARGIN = Duration.ofMinutes(1);
+    private static final Duration WORKER_TIMEOUT = Duration.ofMinutes(1);
+    private static final int POLL_MILLIS = 100;
+
+    private static final class Task {
+        private final int id;
+        private final int[] variables;
+        private int failedAttempts;
+
+        private Task(int id, int[] variables) {
+            this.id = id;
+            this.variables = variables;
+        }
+    }
+
+    private final ClauseStore clauses;
+    private final Duration timeout;
+    private final SolverGovernor governor;
+    private final int shardSize;
+    private final ServerSocket serverSocket;
+    private final Path formulaFile;
+    private final List<Process> localWorkers = new ArrayList<>();
+
+    private final BlockingQueue<Task> openTasks = new LinkedBlockingQueue<>();
+    private final Map<Integer, List<int[]>> results = new HashMap<>();
+    private final AtomicInteger connectedWorkers = new AtomicInteger();
+    private final AtomicInteger restartsWithoutProgress = new AtomicInteger();
+    private Duration taskTimeout;
+    private volatile long lastWorkerActivity;
+    private volatile int taskCount = -1;
+    private volatile int publishedTaskCount;
+    private volatile String failure;
+    private BooleanAssignment core;
+    private BitSet coveredVariables;
+    private Consumer<BooleanAssignment> consumer;
+    private int publishedSetCount;
+    private Progress progress;
+
+    public AtomicSetsCoordinator(BooleanAssignmentList formula, Duration timeout, int shardSize) throws IOException {
+        this(ClauseStore.of(formula), timeout, shardSize);
+    }
+
+    /**
+     * Creates a coordinator for the given clauses, which are not modified.
+     * The {@link #setTaskTimeout(Duration) task timeout} is derived from the solver timeout, so shards are only
+     * assigned again if a worker takes considerably longer than its solver calls may take.
+     *
+     * @param clauses the clauses of the formula
+     * @param timeout the timeout of each solver call
+     * @param shardSize the number of variables per shard
+     * @throws IOException if the formula file cannot be written or the socket cannot be opened
+     */
+    public AtomicSetsCoordinator(ClauseStore clauses, Duration timeout, int shardSize) throws IOException {
+        if (shardSize < 1) {
+            throw new IllegalArgumentException(String.format("Shard size must be positive, was %d", shardSize));
+        }
+        this.clauses = clauses;
+        this.timeout = timeout;
+        this.taskTimeout = getTaskTimeout(timeout);
+        this.governor = SolverGovernor.getDefault();
+        this.shardSize = shardSize;
+        formulaFile = Files.createTempFile("cadiCalFormula", "." + CompactClauseFormat.FILE_EXTENSION);
+        CompactClauseFormat.write(clauses, formulaFile);
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        serverSocket.setSoTimeout(POLL_MILLIS);
+    }
+
+    public String getHost() {
+        return serverSocket.getInetAddress().getHostAddress();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Derives the time a worker may take to report the next atomic set of a shard from the solver timeout.
+     *
+     * @param timeout the timeout of each solver call, or {@link Duration#ZERO} for no limit
+     * @return the task timeout, or {@link Duration#ZERO} for no limit
+     */
+    public static Duration getTaskTimeout(Duration timeout) {
+        return timeout.isZero() ? Duration.ZERO : timeout.multipliedBy(SOLVER_CALLS_PER_SET).plus(TASK_TIMEOUT_MARGIN);
+    }
+
+    /**
+     * Sets the time a worker may take to report the next atomic set of its shard before the shard is assigned again.
+     * By default, it is derived from the solver timeout with {@link #getTaskTimeout(Duration)}.
+     *
+     * @param taskTimeout the timeout, or {@link Duration#ZERO} for no limit
+     */
+    public void setTaskTimeout(Duration taskTimeout) {
+        this.taskTimeout = Objects.requireNonNull(taskTimeout);
+    }
+
+    /**
+     * Starts worker JVMs on this machine with the current class path.
+     * Workers that terminate while shards are open are restarted. They are destroyed when this coordinator is closed.
+     *
+     * @param count the number of workers, which is reduced to the governor's maximum process count
+     * @throws IOException if a worker cannot be started
+     */
+    public void startLocalWorkers(int count) throws IOException {
+        int maximumCount = governor.getMaximumProcessCount() - localWorkers.size();
+        if (count > maximumCount) {
+            FeatJAR.log()
+                    .warning("starting only %d of %d workers due to the solver process limit", maximumCount, count);
+            count = maximumCount;
+        }
+        for (int i = 0; i < count; i++) {
+            localWorkers.add(startLocalWorker());
+        }
+    }
+
+    private Process startLocalWorker() throws IOException {
+        return new ProcessBuilder(
+                        Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                        "-cp",
+                        System.getProperty("java.class.path"),
+                        AtomicSetsWorker.class.getName(),
+                        getHost(),
+                        String.valueOf(getPort()))
+                .redirectOutput(Redirect.DISCARD)
+                .redirectError(Redirect.INHERIT)
+                .start();
+    }
+
+    /*
+     * Replaces terminated local workers. As each worker that terminates while processing a shard counts as a failed
+     * attempt, only workers that keep terminating without completing any shard can exceed the restart limit.
+     */
+    private void restartTerminatedLocalWorkers() throws IOException {
+        for (int i = 0; i < localWorkers.size(); i++) {
+            if (!localWorkers.get(i).isAlive() && !isFinished()) {
+                if (restartsWithoutProgress.incrementAndGet() > MAXIMUM_TASK_ATTEMPTS * localWorkers.size()) {
+                    throw new IOException("Local workers keep terminating");
+                }
+                FeatJAR.log()
+                        .warning("restarting local worker that terminated with exit code %d",
+                                localWorkers.get(i).exitValue());
+                localWorkers.set(i, startLocalWorker());
+            }
+        }
+    }
+
+    /**
+     * Computes the atomic sets for the given variables.
+     * The first set of the result is the core, followed by all other sets in the order of their first variable.
+     *
+     * @param variables the variables of interest
+     * @param progress the progress, which is advanced per processed variable
+     * @return the atomic sets
+     */
+    public Result<BooleanAssignmentList> compute(BooleanAssignment variables, Progress progress) {
+        BooleanAssignmentList atomicSets = new BooleanAssignmentList(clauses.getVariableMap());
+        return compute(variables, atomicSets::add, progress).map(count -> atomicSets);
+    }
+
+    /**
+     * Computes the atomic sets for the given variables and passes each one to the given consumer as soon as the
+     * shards before it are complete.
+     * The consumer first receives the core, followed by all other sets in the order of their first variable. It is
+     * called by one thread at a time, but not necessarily by the calling thread.
+     *
+     * @param variables the variables of interest
+     * @param consumer receives the atomic sets
+     * @param progress the progress, which is advanced per processed variable
+     * @return the number of atomic sets passed to the consumer
+     */
+    public synchronized Result<Integer> compute(
+            BooleanAssignment variables, Consumer<BooleanAssignment> consumer, Progress progress) {
+        if (taskCount >= 0) {
+            throw new IllegalStateException("Atomic sets were already computed");
+        }
+        this.consumer = consumer;
+        this.progress = progress;
+        CadiCalSolver solver = new CadiCalSolver(clauses);
+        solver.setTimeout(timeout);
+        Result<BooleanAssignment> coreResult = solver.core();
+        if (coreResult.isEmpty()) {
+            return coreResult.merge(Result.empty());
+        }
+        core = coreResult.get();
+        coveredVariables = new BitSet();
+        for (int literal : core.get()) {
+            coveredVariables.set(Math.abs(literal));
+        }
+
+        int[] openVariables = Arrays.stream(variables.get())
+                .map(Math::abs)
+                .filter(v -> !coveredVariables.get(v))
+                .toArray();
+        List<Task> tasks = new ArrayList<>();
+        for (int start = 0; start < openVariables.length; start += shardSize) {
+            tasks.add(new Task(
+                    tasks.size(),
+                    Arrays.copyOfRange(openVariables, start, Math.min(start + shardSize, openVariables.length))));
+        }
+        progress.setTotalSteps(openVariables.length + 1);
+        synchronized (results) {
+            publish(core.get());
+        }
+        progress.incrementCurrentStep();
+        openTasks.addAll(tasks);
+        taskCount = tasks.size();
+        lastWorkerActivity = System.nanoTime();
+
+        try {
+            while (!isFinished()) {
+                acceptWorker();
+                if (!localWorkers.isEmpty()) {
+                    restartTerminatedLocalWorkers();
+                } else if (!isFinished()
+                        && connectedWorkers.get() == 0
+                        && System.nanoTime() - lastWorkerActivity > WORKER_TIMEOUT.toNanos()) {
+                    return Result.empty(new IOException("No worker connected"));
+                }
+            }
+        } catch (IOException e) {
+            return Result.empty(e);
+        }
+        if (failure != null) {
+            return Result.empty(new IOException(failure));
+        }
+        synchronized (results) {
+            return Result.of(publishedSetCount);
+        }
+    }
+
+    private boolean isFinished() {
+        return failure != null || publishedTaskCount == taskCount;
+    }
+
+    private void acceptWorker() throws IOException {
+        Socket socket;
+        try {
+            socket = serverSocket.accept();
+        } catch (SocketTimeoutException e) {
+            return;
+        }
+        connectedWorkers.incrementAndGet();
+        Thread thread = new Thread(() -> serveWorker(socket), "atomic-sets-worker-" + socket.getPort());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void serveWorker(Socket socket) {
+        Task task = null;
+        try (socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, taskTimeout.toMillis()));
+            send(out, FORMULA + " " + formulaFile);
+            send(out, TIMEOUT + " " + timeout.toMillis());
+            send(out, LIMITS + " " + getWorkerMemoryBudget() + " " + governor.getProcessMemoryLimit() + " "
+                    + governor.getProcessCpuLimit().toMillis());
+            send(out, CORE + " " + print(core.get()));
+            while (!isFinished()) {
+                task = openTasks.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (task == null) {
+                    continue;
+                }
+                send(out, TASK + " " + task.id + " " + print(task.variables));
+                List<int[]> atomicSets = new ArrayList<>();
+                String line = in.readLine();
+                while (line != null && line.startsWith(SET + " ")) {
+                    atomicSets.add(parseLiterals(line.substring(SET.length() + 1)));
+                    line = in.readLine();
+                }
+                if (line == null) {
+                    throw new EOFException("Worker closed connection");
+                } else if (line.startsWith(DONE + " ")) {
+                    complete(task, atomicSets);
+                } else if (line.startsWith(FAIL + " ")) {
+                    retry(task, line.substring(FAIL.length() + 1));
+                } else {
+                    throw new IOException("Unknown response: " + line);
+                }
+                task = null;
+                lastWorkerActivity = System.nanoTime();
+            }
+            send(out, EXIT);
+        } catch (SocketTimeoutException e) {
+            retry(task, "worker made no progress for " + taskTimeout.toMillis() + " ms");
+        } catch (IOException e) {
+            retry(task, "lost connection to worker: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            retry(task, "interrupted");
+        } finally {
+            lastWorkerActivity = System.nanoTime();
+            connectedWorkers.decrementAndGet();
+        }
+    }
+
+    /*
+     * The number of local workers does not change once the computation has started, as terminated ones are replaced.
+     */
+    long getWorkerMemoryBudget() {
+        int workerCount = localWorkers.isEmpty() ? governor.getMaximumProcessCount() : localWorkers.size();
+        return governor.getMemoryBudget() / workerCount;
+    }
+
+    private void retry(Task task, String reason) {
+        if (task == null) {
+            FeatJAR.log().warning(reason);
+            return;
+        }
+        task.failedAttempts++;
+        FeatJAR.log().warning("shard %d failed (attempt %d): %s", task.id, task.failedAttempts, reason);
+        if (task.failedAttempts < MAXIMUM_TASK_ATTEMPTS) {
+            openTasks.add(task);
+        } else {
+            failure = String.format("Shard %d failed %d times: %s", task.id, task.failedAttempts, reason);
+        }
+    }
+
+    /*
+     * Records the atomic sets of a shard and publishes those of all shards that are complete up to the first
+     * incomplete one.
+     */
+    private void complete(Task task, List<int[]> atomicSets) {
+        synchronized (results) {
+            if (task.id < publishedTaskCount || results.putIfAbsent(task.id, atomicSets) != null) {
+                return;
+            }
+            restartsWithoutProgress.set(0);
+            synchronized (progress) {
+                for (int i = 0; i < task.variables.length; i++) {
+                    progress.incrementCurrentStep();
+                }
+            }
+            List<int[]> nextSets;
+            while (failure == null && (nextSets = results.remove(publishedTaskCount)) != null) {
+                for (int[] atomicSet : nextSets) {
+                    if (atomicSet.length > 0 && !coveredVariables.get(Math.abs(atomicSet[0]))) {
+                        for (int literal : atomicSet) {
+                            coveredVariables.set(Math.abs(literal));
+                        }
+                        publish(atomicSet);
+                    }
+                }
+                publishedTaskCount++;
+            }
+        }
+    }
+
+    private void publish(int[] atomicSet) {
+        try {
+            consumer.accept(new BooleanAssignment(atomicSet));
+            publishedSetCount++;
+        } catch (RuntimeException e) {
+            FeatJAR.log().error(e);
+            failure = "Could not publish atomic set: " + e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Process worker : localWorkers) {
+            worker.destroy();
+        }
+        serverSocket.close();
+        Files.deleteIfExists(formulaFile);
+    }
+
+    static void send(BufferedWriter out, String line) throws IOException {
+        out.write(line);
+        out.newLine();
+        out.flush();
+    }
+
+    static String print(int[] literals) {
+        StringBuilder sb = new StringBuilder();
+        for (int literal : literals) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(literal);
+        }
+        return sb.toString();
+    }
+
+    static int[] parseLiterals(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty()) {
+            return new int[0];
+        }
+        return Arrays.stream(trimmed.split(" ")).mapToInt(Integer::parseInt).toArray();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.distributed;
+
+import de.featjar.analysis.cadical.computation.ComputeAtomicCadiCal;
+import de.featjar.analysis.cadical.io.CompactClauseFormat;
+import de.featjar.analysis.cadical.solver.CadiCalSolver;
+import de.featjar.analysis.cadical.solver.ClauseStore;
+import de.featjar.analysis.cadical.solver.SolverGovernor;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.BitSet;
+
+/**
+ * Computes atomic sets for variable shards assigned by an {@link AtomicSetsCoordinator}.
+ * Can be run in its own JVM with the coordinator's host and port as arguments.
+ */
+public class AtomicSetsWorker {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: AtomicSetsWorker <host> <port>");
+            System.exit(1);
+        }
+        FeatJAR.initialize();
+        try {
+            new AtomicSetsWorker().run(args[0], Integer.parseInt(args[1]));
+        } finally {
+            FeatJAR.deinitialize();
+        }
+    }
+
+    /**
+     * Connects to a coordinator and processes its tasks until it sends the exit command or closes the connection.
+     *
+     * @param host the coordinator's host
+     * @param port the coordinator's port
+     * @throws IOException if the connection fails or the coordinator sends an invalid command
+     */
+    public void run(String host, int port) throws IOException {
+        try (Socket socket = new Socket(host, port);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            CadiCalSolver solver = null;
+            BooleanAssignment core = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                int separator = line.indexOf(' ');
+                String command = separator < 0 ? line : line.substring(0, separator);
+                String argument = separator < 0 ? "" : line.substring(separator + 1);
+                switch (command) {
+                    case AtomicSetsCoordinator.FORMULA:
+                        Result<BooleanAssignmentList> formula = CompactClauseFormat.read(Paths.get(argument));
+                        if (formula.isEmpty()) {
+                            throw new IOException("Could not read formula from " + argument);
+                        }
+                        solver = new CadiCalSolver(ClauseStore.of(formula.get()));
+                        break;
+                    case AtomicSetsCoordinator.TIMEOUT:
+                        requireSolver(solver).setTimeout(Duration.ofMillis(Long.parseLong(argument)));
+                        break;
+                    case AtomicSetsCoordinator.LIMITS:
+                        requireSolver(solver).setGovernor(parseLimits(argument));
+                        break;
+                    case AtomicSetsCoordinator.CORE:
+                        core = new BooleanAssignment(AtomicSetsCoordinator.parseLiterals(argument));
+                        break;
+                    case AtomicSetsCoordinator.TASK:
+                        if (core == null) {
+                            throw new IOException("Received task before core");
+                        }
+                        processTask(requireSolver(solver), core, argument, out);
+                        break;
+                    case AtomicSetsCoordinator.EXIT:
+                        return;
+                    default:
+                        throw new IOException("Unknown command: " + line);
+                }
+            }
+        }
+    }
+
+    private static SolverGovernor parseLimits(String limits) {
+        String[] values = limits.split(" ");
+        return new SolverGovernor(
+                1,
+                Long.parseLong(values[0]),
+                Integer.MAX_VALUE,
+                Long.parseLong(values[1]),
+                Duration.ofMillis(Long.parseLong(values[2])));
+    }
+
+    private static CadiCalSolver requireSolver(CadiCalSolver solver) throws IOException {
+        if (solver == null) {
+            throw new IOException("Received command before formula");
+        }
+        return solver;
+    }
+
+    private static void processTask(CadiCalSolver solver, BooleanAssignment core, String task, BufferedWriter out)
+            throws IOException {
+        int[] values = AtomicSetsCoordinator.parseLiterals(task);
+        int taskId = values[0];
+        BitSet computedVariables = new BitSet();
+        for (int i = 1; i < values.length; i++) {
+            int variable = values[i];
+            if (!computedVariables.get(variable)) {
+                Result<BooleanAssignment> atomicSet = ComputeAtomicCadiCal.computeAtomicSet(solver, core, variable);
+                if (atomicSet.isEmpty()) {
+                    AtomicSetsCoordinator.send(
+                            out,
+                            AtomicSetsCoordinator.FAIL + " " + taskId + " "
+                                    + atomicSet.getProblems().toString().replace('\n', ' '));
+                    return;
+                }
+                int[] literals = atomicSet.get().get();
+                for (int literal : literals) {
+                    computedVariables.set(Math.abs(literal));
+                }
+                AtomicSetsCoordinator.send(
+                        out, AtomicSetsCoordinator.SET + " " + AtomicSetsCoordinator.print(literals));
+            }
+        }
+        AtomicSetsCoordinator.send(out, AtomicSetsCoordinator.DONE + " " + taskId);
+    }
+}
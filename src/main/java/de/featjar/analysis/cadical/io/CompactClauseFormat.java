@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.io;
+
+import de.featjar.analysis.cadical.solver.ClauseStore;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Compact binary encoding of a clause list or {@link ClauseStore} and its variable map.
+ * Each variable is stored with its index, so gaps in the variable map are preserved.
+ * Literals of each clause are sorted by variable and stored as varint-coded
+ * deltas, with the sign in the lowest bit.
+ * Files are read through a memory-mapped buffer.
+ */
+public final class CompactClauseFormat {
+
+    /**
+     * File extension for compact clause files.
+     */
+    public static final String FILE_EXTENSION = "fjcc";
+
+    private static final int MAGIC = 0x464A4343;
+    private static final byte VERSION = 2;
+
+    private CompactClauseFormat() {}
+
+    public static void write(BooleanAssignmentList clauseList, Path path) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            write(clauseList, out);
+        }
+    }
+
+    public static void write(BooleanAssignmentList clauseList, OutputStream out) throws IOException {
+        write(clauseList.getVariableMap(), clauseList.size(), i -> clauseList.get(i).get(), out);
+    }
+
+    public static void write(ClauseStore clauses, Path path) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            write(clauses, out);
+        }
+    }
+
+    public static void write(ClauseStore clauses, OutputStream out) throws IOException {
+        write(clauses.getVariableMap(), clauses.getClauseCount(), clauses::getClause, out);
+    }
+
+    private static void write(VariableMap variableMap, int clauseCount, IntFunction<int[]> clauses, OutputStream out)
+            throws IOException {
+        writeInt(out, MAGIC);
+        out.write(VERSION);
+
+        int[] variables = variableMap.getVariables().get();
+        writeVarInt(out, variables.length);
+        for (int variable : variables) {
+            byte[] name = variableMap.get(variable).orElseThrow().getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, variable);
+            writeVarInt(out, name.length);
+            out.write(name);
+        }
+
+        writeVarInt(out, clauseCount);
+        for (int c = 0; c < clauseCount; c++) {
+            int[] literals = clauses.apply(c);
+            int[] sorted = new int[literals.length];
+            for (int i = 0; i < literals.length; i++) {
+                sorted[i] = Math.abs(literals[i]) << 1 | (literals[i] < 0 ? 1 : 0);
+            }
+            Arrays.sort(sorted);
+            writeVarInt(out, sorted.length);
+            int previousVariable = 0;
+            for (int code : sorted) {
+                int variable = code >>> 1;
+                writeVarInt(out, (variable - previousVariable) << 1 | (code & 1));
+                previousVariable = variable;
+            }
+        }
+    }
+
+    public static Result<BooleanAssignmentList> read(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return Result.empty(new IOException(String.format("File too large: %s", path)));
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return Result.of(read(buffer));
+        } catch (Exception e) {
+            return Result.empty(e);
+        }
+    }
+
+    public static BooleanAssignmentList read(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 5 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a compact clause file");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException(String.format("Unsupported version %d", version));
+        }
+
+        int variableCount = readVarInt(buffer);
+        VariableMap variableMap = new VariableMap();
+        for (int i = 0; i < variableCount; i++) {
+            int variable = readVarInt(buffer);
+            byte[] name = new byte[readVarInt(buffer)];
+            buffer.get(name);
+            variableMap.add(variable, new String(name, StandardCharsets.UTF_8));
+        }
+
+        BooleanAssignmentList clauseList = new BooleanAssignmentList(variableMap);
+        int clauseCount = readVarInt(buffer);
+        for (int i = 0; i < clauseCount; i++) {
+            int[] literals = new int[readVarInt(buffer)];
+            int variable = 0;
+            for (int j = 0; j < literals.length; j++) {
+                int code = readVarInt(buffer);
+                variable += code >>> 1;
+                literals[j] = (code & 1) == 0 ? variable : -variable;
+            }
+            clauseList.add(new BooleanAssignment(literals));
+        }
+        return clauseList;
+    }
+
+    private static void writeInt(OutputStream out, int value) throws IOException {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static void writeVarInt(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.io;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Stores prepared clause lists in a cache directory, keyed by the location and the content hash of the input file
+ * they were derived from. The content hash also covers the {@link #DEFAULT_PIPELINE_VERSION pipeline version}, so
+ * artifacts prepared by another version of the preparation are not reused. Artifacts of previous versions of the same
+ * input file are removed when a new artifact is written.
+ */
+public class PreparedFormulaCache {
+
+    /**
+     * Identifies the preparation of clause lists, consisting of the version of this cache and the version of the
+     * formula library that transforms formulas into clauses.
+     * It changes whenever a different transformation may yield different clauses for the same input file.
+     */
+    public static final String DEFAULT_PIPELINE_VERSION = "1-" + getLibraryVersion();
+
+    private static final int PATH_HASH_LENGTH = 16;
+    private static final int CONTENT_HASH_LENGTH = 64;
+
+    private final Path cacheDirectory;
+    private final String pipelineVersion;
+
+    public PreparedFormulaCache(Path cacheDirectory) {
+        this(cacheDirectory, DEFAULT_PIPELINE_VERSION);
+    }
+
+    /**
+     * Creates a cache whose artifacts are only reused by caches with the same pipeline version.
+     *
+     * @param cacheDirectory the directory of the artifacts
+     * @param pipelineVersion the version of the preparation of clause lists
+     */
+    public PreparedFormulaCache(Path cacheDirectory, String pipelineVersion) {
+        this.cacheDirectory = cacheDirectory;
+        this.pipelineVersion = pipelineVersion;
+    }
+
+    private static String getLibraryVersion() {
+        String version = ComputeCNFFormula.class.getPackage().getImplementationVersion();
+        return version == null ? "development" : version;
+    }
+
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public Result<BooleanAssignmentList> load(Path inputFile) {
+        try {
+            Path artifact = getArtifactPath(inputFile);
+            if (!Files.isRegularFile(artifact)) {
+                return Result.empty();
+            }
+            FeatJAR.log().debug("loading prepared formula from " + artifact);
+            return CompactClauseFormat.read(artifact);
+        } catch (Exception e) {
+            return Result.empty(e);
+        }
+    }
+
+    public void save(Path inputFile, BooleanAssignmentList clauseList) throws IOException {
+        Files.createDirectories(cacheDirectory);
+        Path artifact = getArtifactPath(inputFile);
+        removeStaleArtifacts(inputFile, artifact);
+        Path tempFile = Files.createTempFile(cacheDirectory, artifact.getFileName().toString(), ".tmp");
+        try {
+            CompactClauseFormat.write(clauseList, tempFile);
+            Files.move(tempFile, artifact, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        FeatJAR.log().debug("saved prepared formula to " + artifact);
+    }
+
+    private void removeStaleArtifacts(Path inputFile, Path artifact) throws IOException {
+        String prefix = getArtifactPrefix(inputFile);
+        String suffix = "." + CompactClauseFormat.FILE_EXTENSION;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDirectory)) {
+            for (Path path : stream) {
+                String fileName = path.getFileName().toString();
+                if (fileName.length() == prefix.length() + CONTENT_HASH_LENGTH + suffix.length()
+                        && fileName.startsWith(prefix)
+                        && fileName.endsWith(suffix)
+                        && isHex(fileName.substring(prefix.length(), prefix.length() + CONTENT_HASH_LENGTH))
+                        && !path.equals(artifact)) {
+                    FeatJAR.log().debug("removing stale prepared formula " + path);
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private static boolean isHex(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (Character.digit(string.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Path getArtifactPath(Path inputFile) throws IOException {
+        return cacheDirectory.resolve(
+                getArtifactPrefix(inputFile) + computeHash(inputFile) + "." + CompactClauseFormat.FILE_EXTENSION);
+    }
+
+    /*
+     * The prefix contains a hash of the input file's location, so input files with the same name in different
+     * directories do not replace each other's artifacts.
+     */
+    private static String getArtifactPrefix(Path inputFile) {
+        MessageDigest digest = newDigest();
+        digest.update(inputFile.toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8));
+        return inputFile.getFileName().toString() + "-" + toHex(digest).substring(0, PATH_HASH_LENGTH) + "-";
+    }
+
+    private String computeHash(Path inputFile) throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(pipelineVersion.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        try (InputStream in = Files.newInputStream(inputFile)) {
+            byte[] buffer = new byte[1 << 16];
+            int length;
+            while ((length = in.read(buffer)) >= 0) {
+                digest.update(buffer, 0, length);
+            }
+        }
+        return toHex(digest);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(MessageDigest digest) {
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.solver;
+
+/**
+ * Algorithms for computing the backbone of a formula with {@link CadiCalSolver}.
+ */
+public enum BackboneAlgorithm {
+    /**
+     * Runs the bundled cadiback binary.
+     */
+    CADIBACK,
+    /**
+     * Tests one candidate literal per solver call and removes all candidates that are flipped in a found model.
+     */
+    ITERATIVE,
+    /**
+     * Tests several candidate literals per solver call by blocking them together in one clause.
+     */
+    CHUNKED
+}
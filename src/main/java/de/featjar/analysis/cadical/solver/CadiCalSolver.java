@@ -25,33 +25,75 @@ import de.featjar.analysis.RuntimeTimeoutException;
 import de.featjar.analysis.cadical.bin.CadiBackBinary;
 import de.featjar.analysis.cadical.bin.CadiCalBinary;
 import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Problem.Severity;
 import de.featjar.base.data.Result;
-import de.featjar.base.data.Void;
-import de.featjar.base.env.Process;
-import de.featjar.base.env.TempFile;
-import de.featjar.base.io.IO;
 import de.featjar.formula.assignment.BooleanAssignment;
-import de.featjar.formula.assignment.BooleanAssignmentGroups;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanSolution;
-import de.featjar.formula.io.dimacs.BooleanAssignmentGroupsDimacsFormat;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 public class CadiCalSolver implements ISolver {
-    protected final BooleanAssignmentList formula;
+    protected final ClauseStore clauses;
     protected Duration timeout = Duration.ZERO;
-    protected boolean isTimeoutOccurred;
+    protected SolverGovernor governor = SolverGovernor.getDefault();
+    protected volatile boolean isTimeoutOccurred;
+    protected volatile boolean isUnsatisfiable;
+    protected volatile BooleanSolution lastSolution;
+    protected volatile BooleanAssignment phaseHint;
 
-    public CadiCalSolver(BooleanAssignmentList formula) { // todo: use boolean clause list input
-        this.formula = formula;
+    public CadiCalSolver(BooleanAssignmentList formula) {
+        this(ClauseStore.of(formula));
     }
 
+    /**
+     * Creates a solver that works directly on the given clauses.
+     * Clauses added to the store are seen by all subsequent queries.
+     *
+     * @param clauses the clause store
+     */
+    public CadiCalSolver(ClauseStore clauses) {
+        this.clauses = clauses;
+    }
+
+    public ClauseStore getClauses() {
+        return clauses;
+    }
+
+    /**
+     * Returns a copy of the clauses as a clause list.
+     *
+     * @return the clause list
+     */
+    public BooleanAssignmentList toClauseList() {
+        return clauses.toClauseList();
+    }
+
+    /**
+     * Returns a copy of the clauses as a clause list.
+     * Changes to the returned list do not affect the solver.
+     *
+     * @return the clause list
+     * @deprecated use {@link #getClauses()} to access the clauses or {@link #toClauseList()} to copy them
+     */
+    @Deprecated
     public BooleanAssignmentList getFormula() {
-        return formula;
+        return toClauseList();
     }
 
     public Duration getTimeout() {
@@ -68,26 +110,212 @@ public class CadiCalSolver implements ISolver {
         return isTimeoutOccurred;
     }
 
+    public SolverGovernor getGovernor() {
+        return governor;
+    }
+
+    /**
+     * Sets the governor that admits and limits the solver processes started by this solver.
+     *
+     * @param governor the governor
+     */
+    public void setGovernor(SolverGovernor governor) {
+        this.governor = Objects.requireNonNull(governor);
+    }
+
+    private void writeInput(Path path, List<int[]> additionalClauses) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            DimacsClauseWriter.write(clauses, additionalClauses, writer);
+        }
+    }
+
+    private static <T> Result<T> parse(Result<List<String>> output, Function<List<String>, Result<T>> parser) {
+        try {
+            return output.flatMap(parser);
+        } catch (Exception e) {
+            FeatJAR.log().error(e);
+            return Result.empty(e);
+        }
+    }
+
+    /**
+     * Maps the result of a solver run such that cancelling the mapped future also cancels the run and thereby stops
+     * its process, which a plain {@link CompletableFuture#thenApply(Function)} would not do.
+     */
+    private static <T, U> CompletableFuture<U> thenApply(CompletableFuture<T> run, Function<T, U> mapper) {
+        CompletableFuture<U> mapped = run.thenApply(mapper);
+        mapped.whenComplete((result, throwable) -> {
+            if (mapped.isCancelled()) {
+                run.cancel(true);
+            }
+        });
+        return mapped;
+    }
+
     public Result<BooleanSolution> getSolution() {
+        return getSolutionAsync().join();
+    }
+
+    /**
+     * Computes a solution without blocking the calling thread.
+     * Cancelling the returned future stops the solver process.
+     *
+     * @return a future for the solution
+     */
+    public CompletableFuture<Result<BooleanSolution>> getSolutionAsync() {
         isTimeoutOccurred = false;
+        BooleanSolution hintModel = findHintModel(new int[0]);
+        if (hintModel != null) {
+            lastSolution = hintModel;
+            return CompletableFuture.completedFuture(Result.of(hintModel));
+        }
+        return thenApply(runCadiCalAsync(List.of()), output -> {
+            Result<BooleanSolution> solution = parse(output, lines -> Result.ofNullable(parseSolution(lines)));
+            if (solution.isPresent()) {
+                lastSolution = solution.get();
+            }
+            return solution;
+        });
+    }
+
+    /**
+     * Computes a solution of the formula extended by the given clauses without blocking the calling thread.
+     * The clause store is not modified, so several calls may run concurrently on the same solver.
+     * Neither the phase hint is checked nor the last found model updated, as the additional clauses may introduce
+     * variables that are not part of the formula.
+     *
+     * @param additionalClauses the clauses passed to the solver in addition to the formula
+     * @return a future for the solution, which is empty without problems if there is no solution
+     */
+    public CompletableFuture<Result<BooleanSolution>> getSolutionAsync(List<int[]> additionalClauses) {
+        return thenApply(runCadiCalAsync(additionalClauses), output -> parse(output, lines -> {
+            BooleanSolution model = parseSolution(lines);
+            if (model == null && !"s UNSATISFIABLE".equals(lines.get(0))) {
+                return Result.empty(new RuntimeTimeoutException());
+            }
+            return Result.ofNullable(model);
+        }));
+    }
+
+    /**
+     * Returns the last model found by this solver.
+     *
+     * @return the last model, or {@code null} if none was found yet
+     */
+    public BooleanSolution getLastSolution() {
+        return lastSolution;
+    }
+
+    public BooleanAssignment getPhaseHint() {
+        return phaseHint;
+    }
+
+    /**
+     * Sets literals that guide subsequent queries towards a known model, such as a solution of a previous version of
+     * the formula. Without an explicit hint, the last model found by this solver is used.
+     * A hint that satisfies the formula and the assumptions of a query answers it without starting a solver.
+     * Otherwise, its predominant polarity is passed to CaDiCaL as initial phase.
+     * Runs of cadiback are not affected.
+     *
+     * @param phaseHint the hint, or {@code null} to use the last found model
+     */
+    public void setPhaseHint(BooleanAssignment phaseHint) {
+        this.phaseHint = phaseHint;
+    }
+
+    private Result<List<String>> runCadiCal(List<int[]> additionalClauses) {
+        return runCadiCalAsync(additionalClauses).join();
+    }
+
+    /*
+     * Runs the solver until the given deadline at most, after which its process is destroyed. A run that is still
+     * queued at the deadline is cancelled.
+     */
+    private Result<List<String>> runCadiCal(List<int[]> additionalClauses, long deadline) {
+        CompletableFuture<Result<List<String>>> run = runCadiCalAsync(additionalClauses, deadline);
+        if (deadline == Long.MAX_VALUE) {
+            return run.join();
+        }
+        try {
+            return run.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            run.cancel(true);
+            return Result.empty(SolverProcess.TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.cancel(true);
+            return Result.empty(e);
+        } catch (ExecutionException e) {
+            return Result.empty(e);
+        }
+    }
+
+    private CompletableFuture<Result<List<String>>> runCadiCalAsync(List<int[]> additionalClauses) {
+        return runCadiCalAsync(additionalClauses, Long.MAX_VALUE);
+    }
+
+    private CompletableFuture<Result<List<String>>> runCadiCalAsync(List<int[]> additionalClauses, long deadline) {
         CadiCalBinary extension = FeatJAR.extension(CadiCalBinary.class);
-        try (TempFile tempFile = new TempFile("cadiCalInput", ".dimacs")) {
-            IO.save(
-                    new BooleanAssignmentGroups(formula),
-                    tempFile.getPath(),
-                    new BooleanAssignmentGroupsDimacsFormat());
-            Process process = extension.getProcess(
-                    "--sat",
-                    "-q",
-                    "-t",
-                    String.valueOf(timeout.toSeconds()),
-                    tempFile.getPath().toString());
-
-            return process.get().map(this::parseSolution);
+        List<String> arguments = new ArrayList<>(List.of("--sat", "-q", "-t", String.valueOf(timeout.toSeconds())));
+        if (isNegativePhasePredominant()) {
+            arguments.add("--phase=0");
+        }
+        return start(extension.getExecutablePath(), arguments, additionalClauses, Duration.ZERO, deadline, false);
+    }
+
+    /*
+     * The process is destroyed after the given timeout or at the given deadline, whichever comes first. The time left
+     * until the deadline is computed once the governor admits the run, so the time spent in its queue counts as well.
+     * A run that is admitted after the deadline is not started and fails like a process that exceeded its timeout.
+     */
+    private CompletableFuture<Result<List<String>>> start(
+            Path executable,
+            List<String> arguments,
+            List<int[]> additionalClauses,
+            Duration processTimeout,
+            long deadline,
+            boolean includeErrorOutput) {
+        long literalCount = clauses.getLiteralCount();
+        for (int[] clause : additionalClauses) {
+            literalCount += clause.length;
+        }
+        long estimatedMemory = SolverGovernor.estimateMemory(
+                clauses.getVariableCount(), clauses.getClauseCount() + additionalClauses.size(), literalCount);
+        // the input is written on submission, so a queued run is not affected by later changes to the clause store
+        Path inputFile = null;
+        try {
+            inputFile = Files.createTempFile("cadiCalInput", ".dimacs");
+            writeInput(inputFile, additionalClauses);
         } catch (Exception e) {
             FeatJAR.log().error(e);
-            return Result.empty(e);
+            SolverProcess.deleteQuietly(inputFile);
+            return CompletableFuture.completedFuture(Result.empty(e));
         }
+        Path input = inputFile;
+        SolverGovernor solverGovernor = governor;
+        CompletableFuture<Result<List<String>>> run = solverGovernor.submit(estimatedMemory, () -> {
+            Duration runTimeout = processTimeout;
+            if (deadline != Long.MAX_VALUE) {
+                Duration remaining = Duration.ofNanos(deadline - System.nanoTime());
+                if (remaining.isNegative() || remaining.isZero()) {
+                    return CompletableFuture.completedFuture(Result.empty(SolverProcess.TIMEOUT));
+                }
+                if (runTimeout.isZero() || remaining.compareTo(runTimeout) < 0) {
+                    runTimeout = remaining;
+                }
+            }
+            return SolverProcess.start(
+                    executable,
+                    arguments,
+                    input,
+                    runTimeout,
+                    includeErrorOutput,
+                    solverGovernor.getProcessMemoryLimit(),
+                    solverGovernor.getProcessCpuLimit());
+        });
+        // covers runs that were rejected or cancelled before their process was started
+        run.whenComplete((result, throwable) -> SolverProcess.deleteQuietly(input));
+        return run;
     }
 
     private BooleanSolution parseSolution(List<String> lines) {
@@ -117,25 +345,85 @@ public class CadiCalSolver implements ISolver {
     }
 
     public Result<Boolean> hasSolution() {
+        return hasSolutionAsync().join();
+    }
+
+    /**
+     * Checks satisfiability without blocking the calling thread.
+     * Cancelling the returned future stops the solver process.
+     *
+     * @return a future for the satisfiability result
+     */
+    public CompletableFuture<Result<Boolean>> hasSolutionAsync() {
         isTimeoutOccurred = false;
-        CadiCalBinary extension = FeatJAR.extension(CadiCalBinary.class);
-        try (TempFile tempFile = new TempFile("cadiCalInput", ".dimacs")) {
-            IO.save(
-                    new BooleanAssignmentGroups(formula),
-                    tempFile.getPath(),
-                    new BooleanAssignmentGroupsDimacsFormat());
-            Process process = extension.getProcess(
-                    "--sat",
-                    "-q",
-                    "-t",
-                    String.valueOf(timeout.toSeconds()),
-                    tempFile.getPath().toString());
-
-            return process.get().flatMap(this::parseSatisfiable);
+        BooleanSolution hintModel = findHintModel(new int[0]);
+        if (hintModel != null) {
+            lastSolution = hintModel;
+            return CompletableFuture.completedFuture(Result.of(Boolean.TRUE));
+        }
+        return thenApply(runCadiCalAsync(List.of()), output -> parse(output, this::parseSatisfiable));
+    }
+
+    /**
+     * Checks whether the formula is satisfiable under the given assumptions.
+     * The assumptions are passed as unit clauses. No solver is started if the phase hint or the last found model
+     * already satisfies them.
+     *
+     * @param assumptions the assumed literals
+     * @return whether there is a solution containing all assumptions
+     */
+    public Result<Boolean> hasSolution(BooleanAssignment assumptions) {
+        int[] literals = assumptions.get();
+        BooleanSolution hintModel = findHintModel(literals);
+        if (hintModel != null) {
+            lastSolution = hintModel;
+            return Result.of(Boolean.TRUE);
+        }
+        isTimeoutOccurred = false;
+        List<int[]> unitClauses = new ArrayList<>(literals.length);
+        for (int literal : literals) {
+            unitClauses.add(new int[] {literal});
+        }
+        Result<List<String>> output = runCadiCal(unitClauses);
+        if (output.isEmpty()) {
+            return output.merge(Result.empty());
+        }
+        BooleanSolution model;
+        try {
+            model = parseSolution(output.get());
         } catch (Exception e) {
             FeatJAR.log().error(e);
             return Result.empty(e);
         }
+        if (model != null) {
+            lastSolution = model;
+            return Result.of(Boolean.TRUE);
+        }
+        return isTimeoutOccurred ? Result.empty(new RuntimeTimeoutException()) : Result.of(Boolean.FALSE);
+    }
+
+    /**
+     * Reduces unsatisfiable assumptions to a subset that is still unsatisfiable, such that removing any further
+     * literal makes it satisfiable. Requires one solver call per assumed literal.
+     *
+     * @param assumptions the assumed literals, which must be unsatisfiable together with the formula
+     * @return a minimal unsatisfiable subset of the assumptions
+     */
+    public Result<BooleanAssignment> explain(BooleanAssignment assumptions) {
+        int[] explanation = assumptions.get();
+        for (int i = explanation.length - 1; i >= 0; i--) {
+            int[] reduced = new int[explanation.length - 1];
+            System.arraycopy(explanation, 0, reduced, 0, i);
+            System.arraycopy(explanation, i + 1, reduced, i, reduced.length - i);
+            Result<Boolean> satisfiable = hasSolution(new BooleanAssignment(reduced));
+            if (satisfiable.isEmpty()) {
+                return satisfiable.merge(Result.empty());
+            }
+            if (!satisfiable.get()) {
+                explanation = reduced;
+            }
+        }
+        return Result.of(new BooleanAssignment(explanation));
     }
 
     private Result<Boolean> parseSatisfiable(List<String> lines) {
@@ -159,23 +447,259 @@ public class CadiCalSolver implements ISolver {
         }
     }
 
-    public Result<BooleanAssignment> core() {
-        // TODO implement timeout
-        CadiBackBinary extension = FeatJAR.extension(CadiBackBinary.class);
+    /**
+     * Computes the backbone (i.e., all core and dead literals) of the formula with the given algorithm.
+     *
+     * @param algorithm the backbone algorithm
+     * @param chunkSize the number of literals tested at once by {@link BackboneAlgorithm#CHUNKED}
+     * @return the backbone, or an empty assignment if the formula is unsatisfiable
+     */
+    public Result<BooleanAssignment> core(BackboneAlgorithm algorithm, int chunkSize) {
+        return core(algorithm, chunkSize, null);
+    }
+
+    /**
+     * Computes the part of the backbone that contains the given variables.
+     * The Java algorithms only test literals of these variables, whereas {@link BackboneAlgorithm#CADIBACK} computes
+     * the full backbone and projects it afterwards.
+     *
+     * @param algorithm the backbone algorithm
+     * @param chunkSize the number of literals tested at once by {@link BackboneAlgorithm#CHUNKED}
+     * @param variables the variables of interest, or {@code null} for all variables
+     * @return the projected backbone, or an empty assignment if the formula is unsatisfiable
+     */
+    public Result<BooleanAssignment> core(BackboneAlgorithm algorithm, int chunkSize, BooleanAssignment variables) {
+        BitSet variableSet = null;
+        if (variables != null) {
+            variableSet = new BitSet();
+            for (int literal : variables.get()) {
+                variableSet.set(Math.abs(literal));
+            }
+        }
+        switch (algorithm) {
+            case CADIBACK:
+                return variableSet == null ? core() : core().map(project(variableSet));
+            case ITERATIVE:
+                return coreByModelFiltering(1, variableSet);
+            case CHUNKED:
+                return coreByModelFiltering(chunkSize, variableSet);
+            default:
+                throw new IllegalArgumentException(String.valueOf(algorithm));
+        }
+    }
+
+    private static Function<BooleanAssignment, BooleanAssignment> project(BitSet variables) {
+        return assignment -> new BooleanAssignment(IntStream.of(assignment.get())
+                .filter(l -> variables.get(Math.abs(l)))
+                .toArray());
+    }
+
+    private Result<BooleanAssignment> coreByModelFiltering(int chunkSize, BitSet variables) {
+        return coreByModelFiltering(chunkSize, variables, new int[0], null, Long.MAX_VALUE);
+    }
+
+    /**
+     * Computes the literals that are implied by the formula together with the given decisions.
+     * Interactive callers should keep one solver instance across calls, as the last found model is reused to skip
+     * the initial solver call and to rule out free literals without testing them.
+     *
+     * @param decisions the literals selected so far
+     * @param chunkSize the number of literals tested at once
+     * @param budget the maximum time to spend, or {@link Duration#ZERO} for no limit, which also bounds each solver call
+     * @return the implied literals excluding the decisions (their negations are the blocked literals), or a partial
+     *         result with a warning if the budget was exceeded
+     */
+    public Result<BooleanAssignment> propagate(BooleanAssignment decisions, int chunkSize, Duration budget) {
+        int[] decisionLiterals = decisions.get();
+        BitSet variables = new BitSet();
+        for (int variable : clauses.getVariableMap().getVariables().get()) {
+            variables.set(variable);
+        }
+        for (int literal : decisionLiterals) {
+            variables.clear(Math.abs(literal));
+        }
+        BooleanSolution initialModel = findHintModel(decisionLiterals);
+        long deadline = budget.isZero() ? Long.MAX_VALUE : System.nanoTime() + budget.toNanos();
+        Result<BooleanAssignment> implied =
+                coreByModelFiltering(chunkSize, variables, decisionLiterals, initialModel, deadline);
+        if (implied.isPresent() && isUnsatisfiable) {
+            return Result.empty(new Problem("Decisions are contradictory", Severity.ERROR));
+        }
+        return implied;
+    }
+
+    private Result<BooleanAssignment> coreByModelFiltering(
+            int chunkSize, BitSet variables, int[] assumptions, BooleanSolution initialModel, long deadline) {
+        if (chunkSize < 1) {
+            return Result.empty(
+                    new Problem(String.format("Chunk size must be positive, was %d", chunkSize), Severity.ERROR));
+        }
+        isTimeoutOccurred = false;
+        isUnsatisfiable = false;
         try {
-            Process process = extension.getProcess("-q");
-            List<String> output = new ArrayList<>();
-            Result<Void> result = process.run(
-                    IO.print(new BooleanAssignmentGroups(formula), new BooleanAssignmentGroupsDimacsFormat()),
-                    output::add,
-                    output::add);
-            return result.map(r -> parseCore(output));
+            List<int[]> additionalClauses = new ArrayList<>();
+            for (int literal : assumptions) {
+                additionalClauses.add(new int[] {literal});
+            }
+            BooleanSolution model = initialModel != null ? initialModel : findHintModel(assumptions);
+            if (model == null) {
+                Result<List<String>> output = runCadiCal(additionalClauses, deadline);
+                if (output.isEmpty()) {
+                    return SolverProcess.isTimedOut(output)
+                            ? getIncompleteBackbone(new int[0], 0)
+                            : output.merge(Result.empty());
+                }
+                model = parseSolution(output.get());
+                if (model == null) {
+                    if (isTimeoutOccurred) {
+                        return Result.empty(new RuntimeTimeoutException());
+                    }
+                    isUnsatisfiable = true;
+                    return Result.of(new BooleanAssignment());
+                }
+                lastSolution = model;
+            }
+
+            int[] candidates = variables == null
+                    ? Arrays.copyOf(model.get(), model.size())
+                    : project(variables).apply(model).get();
+            int candidateCount = candidates.length;
+            int[] backbone = new int[candidates.length];
+            int backboneSize = 0;
+            while (candidateCount > 0) {
+                if (System.nanoTime() > deadline) {
+                    FeatJAR.log().debug("stopping backbone computation with %d open candidates", candidateCount);
+                    return getIncompleteBackbone(backbone, backboneSize);
+                }
+                int[] chunk = Arrays.copyOf(candidates, Math.min(chunkSize, candidateCount));
+                int[] blockingClause = new int[chunk.length];
+                for (int i = 0; i < chunk.length; i++) {
+                    blockingClause[i] = -chunk[i];
+                }
+                additionalClauses.add(blockingClause);
+                Result<List<String>> output = runCadiCal(additionalClauses, deadline);
+                additionalClauses.remove(additionalClauses.size() - 1);
+                if (output.isEmpty()) {
+                    return SolverProcess.isTimedOut(output)
+                            ? getIncompleteBackbone(backbone, backboneSize)
+                            : output.merge(Result.empty());
+                }
+                model = parseSolution(output.get());
+                if (model == null) {
+                    if (isTimeoutOccurred) {
+                        return Result.empty(new RuntimeTimeoutException());
+                    }
+                    for (int literal : chunk) {
+                        backbone[backboneSize++] = literal;
+                        additionalClauses.add(new int[] {literal});
+                    }
+                    System.arraycopy(candidates, chunk.length, candidates, 0, candidateCount - chunk.length);
+                    candidateCount -= chunk.length;
+                } else {
+                    lastSolution = model;
+                    int[] solution = model.get();
+                    int remaining = 0;
+                    for (int i = 0; i < candidateCount; i++) {
+                        int literal = candidates[i];
+                        int variable = Math.abs(literal);
+                        if (variable <= solution.length && solution[variable - 1] == literal) {
+                            candidates[remaining++] = literal;
+                        }
+                    }
+                    candidateCount = remaining;
+                }
+            }
+            // candidates are kept in variable order, so the backbone is sorted as well
+            return Result.of(new BooleanAssignment(Arrays.copyOf(backbone, backboneSize)));
         } catch (Exception e) {
             FeatJAR.log().error(e);
             return Result.empty(e);
         }
     }
 
+    private static Result<BooleanAssignment> getIncompleteBackbone(int[] backbone, int backboneSize) {
+        return Result.of(
+                new BooleanAssignment(Arrays.copyOf(backbone, backboneSize)),
+                List.of(new Problem("Budget exceeded, result is incomplete", Severity.WARNING)));
+    }
+
+    /**
+     * Returns a model of the formula that contains the given literals and is taken from the phase hint or the last
+     * found model.
+     *
+     * @param literals the literals the model must contain
+     * @return the model, or {@code null} if neither the hint nor the last model qualifies
+     */
+    private BooleanSolution findHintModel(int[] literals) {
+        BooleanAssignment hint = phaseHint;
+        if (hint != null) {
+            int[] values = new int[clauses.getVariableCount()];
+            for (int literal : hint.get()) {
+                int variable = Math.abs(literal);
+                if (variable <= values.length) {
+                    values[variable - 1] = literal;
+                }
+            }
+            if (containsAll(values, literals) && clauses.isSatisfiedBy(values)) {
+                // the assigned literals satisfy every clause, so unassigned variables can take any value
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] == 0) {
+                        values[i] = -(i + 1);
+                    }
+                }
+                return new BooleanSolution(values);
+            }
+        }
+        BooleanSolution solution = lastSolution;
+        if (solution != null && containsAll(solution.get(), literals) && isSatisfying(solution)) {
+            return solution;
+        }
+        return null;
+    }
+
+    private boolean isNegativePhasePredominant() {
+        BooleanAssignment hint = phaseHint != null ? phaseHint : lastSolution;
+        if (hint == null) {
+            return false;
+        }
+        int balance = 0;
+        for (int literal : hint.get()) {
+            balance += Integer.signum(literal);
+        }
+        return balance < 0;
+    }
+
+    private static boolean containsAll(int[] values, int[] literals) {
+        for (int literal : literals) {
+            int variable = Math.abs(literal);
+            if (variable > values.length || values[variable - 1] != literal) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isSatisfying(BooleanSolution solution) {
+        return clauses.isSatisfiedBy(solution.get());
+    }
+
+    public Result<BooleanAssignment> core() {
+        return coreAsync().join();
+    }
+
+    /**
+     * Computes the backbone with cadiback without blocking the calling thread.
+     * Cancelling the returned future stops the solver process.
+     *
+     * @return a future for the backbone
+     */
+    public CompletableFuture<Result<BooleanAssignment>> coreAsync() {
+        CadiBackBinary extension = FeatJAR.extension(CadiBackBinary.class);
+        return thenApply(
+                start(extension.getExecutablePath(), List.of("-q"), List.of(), timeout, Long.MAX_VALUE, true),
+                output -> parse(output, lines -> Result.of(parseCore(lines))));
+    }
+
     private BooleanAssignment parseCore(List<String> lines) {
         if (lines.isEmpty()) {
             throw new RuntimeException("Not output from solver");
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.solver;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.Arrays;
+
+/**
+ * Stores clauses in one flat array of literals with a second array of clause offsets.
+ * Clauses can be appended and removed again by rolling back to a previously taken mark.
+ */
+public class ClauseStore {
+
+    private final VariableMap variableMap;
+    private final int highestMappedVariable;
+
+    private int[] literals;
+    private int literalCount;
+
+    private int[] offsets;
+    private int clauseCount;
+
+    private int maxVariable;
+
+    public ClauseStore(VariableMap variableMap) {
+        this(variableMap, 16, 64);
+    }
+
+    public ClauseStore(VariableMap variableMap, int clauseCapacity, int literalCapacity) {
+        this.variableMap = variableMap;
+        highestMappedVariable = getHighestVariable(variableMap);
+        literals = new int[Math.max(1, literalCapacity)];
+        offsets = new int[Math.max(1, clauseCapacity) + 1];
+    }
+
+    /**
+     * Creates a copy of the given store, which can be modified independently.
+     *
+     * @param other the store to copy
+     */
+    public ClauseStore(ClauseStore other) {
+        variableMap = other.variableMap;
+        highestMappedVariable = other.highestMappedVariable;
+        literals = Arrays.copyOf(other.literals, Math.max(1, other.literalCount));
+        literalCount = other.literalCount;
+        offsets = Arrays.copyOf(other.offsets, other.clauseCount + 2);
+        clauseCount = other.clauseCount;
+        maxVariable = other.maxVariable;
+    }
+
+    public static ClauseStore of(BooleanAssignmentList clauseList) {
+        int literalCount = 0;
+        for (BooleanAssignment clause : clauseList.getAll()) {
+            literalCount += clause.size();
+        }
+        ClauseStore clauseStore = new ClauseStore(clauseList.getVariableMap(), clauseList.size(), literalCount);
+        for (BooleanAssignment clause : clauseList.getAll()) {
+            clauseStore.add(clause.get());
+        }
+        return clauseStore;
+    }
+
+    /**
+     * Returns the highest index of a variable in the given map, which exceeds the number of variables if the map has
+     * gaps.
+     *
+     * @param variableMap the variable map
+     * @return the highest variable index, or {@code 0} if the map is empty
+     */
+    public static int getHighestVariable(VariableMap variableMap) {
+        int highestVariable = 0;
+        for (int variable : variableMap.getVariables().get()) {
+            highestVariable = Math.max(highestVariable, variable);
+        }
+        return highestVariable;
+    }
+
+    public VariableMap getVariableMap() {
+        return variableMap;
+    }
+
+    public void add(int... clause) {
+        if (clauseCount + 1 == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        int newLiteralCount = literalCount + clause.length;
+        if (newLiteralCount > literals.length) {
+            literals = Arrays.copyOf(literals, Math.max(newLiteralCount, literals.length * 2));
+        }
+        for (int literal : clause) {
+            maxVariable = Math.max(maxVariable, Math.abs(literal));
+        }
+        System.arraycopy(clause, 0, literals, literalCount, clause.length);
+        literalCount = newLiteralCount;
+        offsets[++clauseCount] = literalCount;
+    }
+
+    /**
+     * Returns a mark for the current state, which can be passed to {@link #rollback(int)} to remove all clauses that
+     * were added afterwards.
+     *
+     * @return the mark
+     */
+    public int mark() {
+        return clauseCount;
+    }
+
+    /**
+     * Removes all clauses that were added after the given mark was taken.
+     *
+     * @param mark the mark returned by {@link #mark()}
+     */
+    public void rollback(int mark) {
+        if (mark < 0 || mark > clauseCount) {
+            throw new IllegalArgumentException(String.format("Invalid mark %d for %d clauses", mark, clauseCount));
+        }
+        clauseCount = mark;
+        literalCount = offsets[mark];
+        if (maxVariable > highestMappedVariable) {
+            maxVariable = 0;
+            for (int i = 0; i < literalCount; i++) {
+                maxVariable = Math.max(maxVariable, Math.abs(literals[i]));
+            }
+        }
+    }
+
+    public int getClauseCount() {
+        return clauseCount;
+    }
+
+    public int getLiteralCount() {
+        return literalCount;
+    }
+
+    /**
+     * Returns the highest variable index in the variable map or in any clause.
+     *
+     * @return the number of variables including gaps in the variable map
+     */
+    public int getVariableCount() {
+        return Math.max(highestMappedVariable, maxVariable);
+    }
+
+    /**
+     * Returns the backing literal array without copying.
+     * The literals of clause {@code i} are stored from {@code getClauseStart(i)} (inclusive) to
+     * {@code getClauseEnd(i)} (exclusive).
+     *
+     * @return the literal array
+     */
+    public int[] getLiterals() {
+        return literals;
+    }
+
+    public int getClauseStart(int clauseIndex) {
+        return offsets[clauseIndex];
+    }
+
+    public int getClauseEnd(int clauseIndex) {
+        return offsets[clauseIndex + 1];
+    }
+
+    public int[] getClause(int clauseIndex) {
+        return Arrays.copyOfRange(literals, offsets[clauseIndex], offsets[clauseIndex + 1]);
+    }
+
+    /**
+     * Checks whether a solution satisfies all clauses.
+     *
+     * @param solution an array in which index {@code v - 1} holds the literal of variable {@code v}
+     * @return whether every clause contains a literal of the solution
+     */
+    public boolean isSatisfiedBy(int[] solution) {
+        return getViolatedClause(solution) < 0;
+    }
+
+    /**
+     * Returns the first clause that contains no literal of a solution.
+     *
+     * @param solution an array in which index {@code v - 1} holds the literal of variable {@code v}
+     * @return the index of the violated clause, or {@code -1} if the solution satisfies all clauses
+     */
+    public int getViolatedClause(int[] solution) {
+        for (int i = 0; i < clauseCount; i++) {
+            boolean satisfied = false;
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                int literal = literals[j];
+                int variable = Math.abs(literal);
+                if (variable <= solution.length && solution[variable - 1] == literal) {
+                    satisfied = true;
+                    break;
+                }
+            }
+            if (!satisfied) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public BooleanAssignmentList toClauseList() {
+        BooleanAssignmentList clauseList = new BooleanAssignmentList(variableMap);
+        for (int i = 0; i < clauseCount; i++) {
+            clauseList.add(new BooleanAssignment(getClause(i)));
+        }
+        return clauseList;
+    }
+}
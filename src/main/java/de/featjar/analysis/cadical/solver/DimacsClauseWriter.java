@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.solver;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes clauses as plain DIMACS for the solver binaries.
+ * Unlike {@link de.featjar.formula.io.dimacs.BooleanAssignmentGroupsDimacsFormat}, this writer omits variable names
+ * and formats literals directly from the backing array of a {@link ClauseStore}.
+ */
+final class DimacsClauseWriter {
+
+    private static final int BUFFER_SIZE = 1 << 14;
+
+    private final Writer out;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+
+    private DimacsClauseWriter(Writer out) {
+        this.out = out;
+    }
+
+    static void write(ClauseStore clauseStore, List<int[]> additionalClauses, Writer out) throws IOException {
+        int variableCount = clauseStore.getVariableCount();
+        for (int[] clause : additionalClauses) {
+            for (int literal : clause) {
+                variableCount = Math.max(variableCount, Math.abs(literal));
+            }
+        }
+
+        DimacsClauseWriter writer = new DimacsClauseWriter(out);
+        writer.append("p cnf ");
+        writer.append(variableCount);
+        writer.append(' ');
+        writer.append(clauseStore.getClauseCount() + additionalClauses.size());
+        writer.append('\n');
+        int[] literals = clauseStore.getLiterals();
+        for (int i = 0; i < clauseStore.getClauseCount(); i++) {
+            writer.appendClause(literals, clauseStore.getClauseStart(i), clauseStore.getClauseEnd(i));
+        }
+        for (int[] clause : additionalClauses) {
+            writer.appendClause(clause, 0, clause.length);
+        }
+        writer.flush();
+    }
+
+    private void appendClause(int[] literals, int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            append(literals[i]);
+            append(' ');
+        }
+        append('0');
+        append('\n');
+    }
+
+    private void append(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            append(s.charAt(i));
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (position == buffer.length) {
+            flush();
+        }
+        buffer[position++] = c;
+    }
+
+    private void append(int value) throws IOException {
+        if (position + 11 > buffer.length) {
+            flush();
+        }
+        long number = value;
+        if (number < 0) {
+            buffer[position++] = '-';
+            number = -number;
+        }
+        int end = position;
+        do {
+            end++;
+            number /= 10;
+        } while (number != 0);
+        number = Math.abs((long) value);
+        int digit = end;
+        do {
+            buffer[--digit] = (char) ('0' + number % 10);
+            number /= 10;
+        } while (number != 0);
+        position = end;
+    }
+
+    private void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.solver;
+
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Result;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Controls the admission of solver processes.
+ * At most {@link #getMaximumProcessCount()} processes run at the same time and the sum of their estimated memory
+ * stays within {@link #getMemoryBudget()}.
+ * Runs that do not fit are queued in submission order, runs that cannot fit at all or that would exceed the
+ * maximum queue length are rejected.
+ * In addition, each process started under this governor is subject to the configured per-process memory and CPU
+ * time limits.
+ */
+public class SolverGovernor {
+
+    private static final long BASE_MEMORY = 16L << 20;
+    private static final long MEMORY_PER_VARIABLE = 160;
+    private static final long MEMORY_PER_CLAUSE = 64;
+    private static final long MEMORY_PER_LITERAL = 8;
+
+    private static volatile SolverGovernor defaultGovernor = new SolverGovernor(
+            Runtime.getRuntime().availableProcessors(),
+            getPhysicalMemory(),
+            Integer.MAX_VALUE,
+            0,
+            Duration.ZERO);
+
+    /**
+     * Returns the governor used by solvers that are not assigned a specific one.
+     * By default, it admits one process per available processor within the physical memory not reserved for the
+     * Java heap and applies no per-process limits.
+     *
+     * @return the default governor
+     */
+    public static SolverGovernor getDefault() {
+        return defaultGovernor;
+    }
+
+    public static void setDefault(SolverGovernor governor) {
+        defaultGovernor = Objects.requireNonNull(governor);
+    }
+
+    /**
+     * Estimates the peak memory of a solver process for a formula of the given size.
+     * The estimate is deliberately coarse and meant for admission control only.
+     *
+     * @param variableCount the number of variables
+     * @param clauseCount the number of clauses
+     * @param literalCount the total number of literals in all clauses
+     * @return the estimated memory in bytes
+     */
+    public static long estimateMemory(int variableCount, long clauseCount, long literalCount) {
+        return BASE_MEMORY
+                + MEMORY_PER_VARIABLE * variableCount
+                + MEMORY_PER_CLAUSE * clauseCount
+                + MEMORY_PER_LITERAL * literalCount;
+    }
+
+    private static long getPhysicalMemory() {
+        OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        if (bean instanceof com.sun.management.OperatingSystemMXBean) {
+            long physicalMemory = ((com.sun.management.OperatingSystemMXBean) bean).getTotalPhysicalMemorySize();
+            long available = physicalMemory - Runtime.getRuntime().maxMemory();
+            if (available > 0) {
+                return available;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private static final class Launch<T> {
+        private final long estimatedMemory;
+        private final Supplier<CompletableFuture<Result<T>>> launcher;
+        private final CompletableFuture<Result<T>> future = new CompletableFuture<>();
+
+        private Launch(long estimatedMemory, Supplier<CompletableFuture<Result<T>>> launcher) {
+            this.estimatedMemory = estimatedMemory;
+            this.launcher = launcher;
+        }
+    }
+
+    private final int maximumProcessCount;
+    private final long memoryBudget;
+    private final int maximumQueueLength;
+    private final long processMemoryLimit;
+    private final Duration processCpuLimit;
+
+    private final Deque<Launch<?>> queue = new ArrayDeque<>();
+    private int runningCount;
+    private long reservedMemory;
+    private long rejectionCount;
+
+    /**
+     * Creates a new governor.
+     *
+     * @param maximumProcessCount the maximum number of concurrently running processes
+     * @param memoryBudget the maximum sum of the estimated memory of all running processes in bytes
+     * @param maximumQueueLength the maximum number of runs waiting for admission
+     * @param processMemoryLimit the virtual memory limit of each process in bytes, or {@code 0} for no limit
+     * @param processCpuLimit the CPU time limit of each process, or {@link Duration#ZERO} for no limit
+     */
+    public SolverGovernor(
+            int maximumProcessCount,
+            long memoryBudget,
+            int maximumQueueLength,
+            long processMemoryLimit,
+            Duration processCpuLimit) {
+        if (maximumProcessCount < 1) {
+            throw new IllegalArgumentException("maximum process count must be positive: " + maximumProcessCount);
+        }
+        if (memoryBudget < 1) {
+            throw new IllegalArgumentException("memory budget must be positive: " + memoryBudget);
+        }
+        if (maximumQueueLength < 0) {
+            throw new IllegalArgumentException("maximum queue length must not be negative: " + maximumQueueLength);
+        }
+        if (processMemoryLimit < 0) {
+            throw new IllegalArgumentException("process memory limit must not be negative: " + processMemoryLimit);
+        }
+        this.maximumProcessCount = maximumProcessCount;
+        this.memoryBudget = memoryBudget;
+        this.maximumQueueLength = maximumQueueLength;
+        this.processMemoryLimit = processMemoryLimit;
+        this.processCpuLimit = Objects.requireNonNull(processCpuLimit);
+    }
+
+    public int getMaximumProcessCount() {
+        return maximumProcessCount;
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public int getMaximumQueueLength() {
+        return maximumQueueLength;
+    }
+
+    public long getProcessMemoryLimit() {
+        return processMemoryLimit;
+    }
+
+    public Duration getProcessCpuLimit() {
+        return processCpuLimit;
+    }
+
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    public synchronized long getRejectionCount() {
+        return rejectionCount;
+    }
+
+    public synchronized int getRunningCount() {
+        return runningCount;
+    }
+
+    public synchronized long getReservedMemory() {
+        return reservedMemory;
+    }
+
+    /**
+     * Submits a solver run.
+     * The launcher is called once the run is admitted and must start the process.
+     * Cancelling the returned future removes a queued run from the queue or cancels the future of a running one.
+     *
+     * @param <T> the type of the result
+     * @param estimatedMemory the estimated memory of the process in bytes
+     * @param launcher starts the process
+     * @return a future for the result of the run, which is empty if the run was rejected
+     */
+    public <T> CompletableFuture<Result<T>> submit(
+            long estimatedMemory, Supplier<CompletableFuture<Result<T>>> launcher) {
+        Launch<T> launch = new Launch<>(estimatedMemory, launcher);
+        synchronized (this) {
+            if (estimatedMemory > memoryBudget) {
+                return reject(String.format(
+                        "Estimated solver memory of %d MiB exceeds budget of %d MiB",
+                        estimatedMemory >> 20, memoryBudget >> 20));
+            }
+            if (!queue.isEmpty() || !canStart(estimatedMemory)) {
+                if (queue.size() >= maximumQueueLength) {
+                    return reject(String.format("Solver queue is full (%d waiting)", queue.size()));
+                }
+                queue.addLast(launch);
+                FeatJAR.log().debug("queued solver run, queue depth " + queue.size());
+                launch.future.whenComplete((result, throwable) -> dequeue(launch));
+                return launch.future;
+            }
+            reserve(launch);
+        }
+        run(launch);
+        return launch.future;
+    }
+
+    private <T> CompletableFuture<Result<T>> reject(String message) {
+        rejectionCount++;
+        FeatJAR.log().warning(message);
+        return CompletableFuture.completedFuture(Result.empty(new SolverResourceException(message)));
+    }
+
+    private boolean canStart(long estimatedMemory) {
+        return runningCount < maximumProcessCount && reservedMemory + estimatedMemory <= memoryBudget;
+    }
+
+    private void reserve(Launch<?> launch) {
+        runningCount++;
+        reservedMemory += launch.estimatedMemory;
+    }
+
+    private synchronized void dequeue(Launch<?> launch) {
+        queue.remove(launch);
+    }
+
+    private void release(Launch<?> launch) {
+        List<Launch<?>> admitted = new ArrayList<>();
+        synchronized (this) {
+            runningCount--;
+            reservedMemory -= launch.estimatedMemory;
+            while (!queue.isEmpty() && canStart(queue.peekFirst().estimatedMemory)) {
+                Launch<?> next = queue.pollFirst();
+                if (!next.future.isDone()) {
+                    reserve(next);
+                    admitted.add(next);
+                }
+            }
+        }
+        admitted.forEach(this::run);
+    }
+
+    private <T> void run(Launch<T> launch) {
+        CompletableFuture<Result<T>> process;
+        try {
+            process = launch.launcher.get();
+        } catch (RuntimeException e) {
+            FeatJAR.log().error(e);
+            process = CompletableFuture.completedFuture(Result.empty(e));
+        }
+        CompletableFuture<Result<T>> runningProcess = process;
+        runningProcess.whenComplete((result, throwable) -> {
+            release(launch);
+            if (throwable != null) {
+                launch.future.complete(Result.empty(new IOException(throwable)));
+            } else {
+                launch.future.complete(result);
+            }
+        });
+        launch.future.whenComplete((result, throwable) -> runningProcess.cancel(true));
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.solver;
+
+import de.featjar.analysis.RuntimeTimeoutException;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a solver binary without blocking the calling thread.
+ * Input and output are passed through files, so no thread is needed to pump the process streams while it is running.
+ * Waiting for the process to exit relies on {@link Process#onExit()}, which is served by the JDK's process reaper
+ * thread.
+ * Cancelling the returned future destroys the process.
+ * Memory and CPU time limits are applied with the {@code ulimit} builtin of the POSIX shell.
+ */
+final class SolverProcess {
+
+    private static final Path SHELL = Paths.get("/bin/sh");
+    private static final int SIGNAL_EXIT_OFFSET = 128;
+    private static final int SIGKILL = 9;
+    private static final int SIGXCPU = 24;
+    private static final int EXIT_SATISFIABLE = 10;
+    private static final int EXIT_UNSATISFIABLE = 20;
+
+    /**
+     * Problem of a run whose process was destroyed because it exceeded its timeout.
+     */
+    static final Problem TIMEOUT = new Problem(new RuntimeTimeoutException());
+
+    private SolverProcess() {}
+
+    /**
+     * Checks whether a run failed because its process exceeded its timeout.
+     *
+     * @param result the result of a run
+     * @return whether the run timed out
+     */
+    static boolean isTimedOut(Result<?> result) {
+        return result.getProblems().contains(TIMEOUT);
+    }
+
+    /**
+     * Starts the given executable and reads the input from the given file, which is deleted once the process ends.
+     *
+     * @param executable the solver binary
+     * @param arguments the command line arguments
+     * @param inputFile the file passed as standard input
+     * @param timeout the time after which the process is destroyed, which is rounded up to whole milliseconds, or
+     *        {@link Duration#ZERO} for no limit
+     * @param includeErrorOutput whether lines written to standard error are part of the output
+     * @param memoryLimit the virtual memory limit of the process in bytes, or {@code 0} for no limit
+     * @param cpuLimit the CPU time limit of the process, or {@link Duration#ZERO} for no limit
+     * @return a future for the output lines of the process
+     */
+    static CompletableFuture<Result<List<String>>> start(
+            Path executable,
+            List<String> arguments,
+            Path inputFile,
+            Duration timeout,
+            boolean includeErrorOutput,
+            long memoryLimit,
+            Duration cpuLimit) {
+        List<String> command = new ArrayList<>(arguments.size() + 4);
+        boolean isLimited = (memoryLimit > 0 || !cpuLimit.isZero()) && Files.isExecutable(SHELL);
+        if (isLimited) {
+            command.add(SHELL.toString());
+            command.add("-c");
+            command.add(getLimitScript(memoryLimit, cpuLimit));
+        } else if (memoryLimit > 0 || !cpuLimit.isZero()) {
+            FeatJAR.log().warning("cannot apply solver resource limits without " + SHELL);
+        }
+        command.add(executable.toString());
+        command.addAll(arguments);
+
+        Path outputFile = null;
+        Process process;
+        try {
+            outputFile = Files.createTempFile("cadiCalOutput", ".txt");
+            ProcessBuilder processBuilder = new ProcessBuilder(command)
+                    .redirectInput(inputFile.toFile())
+                    .redirectOutput(outputFile.toFile());
+            if (includeErrorOutput) {
+                processBuilder.redirectErrorStream(true);
+            } else {
+                processBuilder.redirectError(Redirect.DISCARD);
+            }
+            FeatJAR.log().debug(String.join(" ", command));
+            process = processBuilder.start();
+        } catch (IOException e) {
+            deleteQuietly(inputFile);
+            deleteQuietly(outputFile);
+            FeatJAR.log().error(e);
+            return CompletableFuture.completedFuture(Result.empty(e));
+        }
+
+        CompletableFuture<Result<List<String>>> future = new CompletableFuture<>();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        Path output = outputFile;
+        process.onExit().whenComplete((p, throwable) -> {
+            try {
+                if (throwable != null) {
+                    future.complete(Result.empty(new IOException(throwable)));
+                } else if (timedOut.get()) {
+                    future.complete(Result.empty(TIMEOUT));
+                } else {
+                    future.complete(
+                            getResult(p.exitValue(), Files.readAllLines(output), isLimited, memoryLimit, cpuLimit));
+                }
+            } catch (IOException e) {
+                future.complete(Result.empty(e));
+            } finally {
+                deleteQuietly(inputFile);
+                deleteQuietly(output);
+            }
+        });
+        future.whenComplete((result, throwable) -> {
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+        });
+        if (!timeout.isZero()) {
+            // rounded up, so the process is never destroyed before its timeout has passed
+            CompletableFuture.delayedExecutor(timeout.plusNanos(999_999).toMillis(), TimeUnit.MILLISECONDS)
+                    .execute(() -> {
+                        if (process.isAlive()) {
+                            timedOut.set(true);
+                            process.destroyForcibly();
+                        }
+                    });
+        }
+        return future;
+    }
+
+    private static String getLimitScript(long memoryLimit, Duration cpuLimit) {
+        StringBuilder script = new StringBuilder();
+        if (memoryLimit > 0) {
+            script.append("ulimit -v ").append(Math.max(1, memoryLimit >> 10)).append(" && ");
+        }
+        if (!cpuLimit.isZero()) {
+            script.append("ulimit -t ").append(toCpuSeconds(cpuLimit)).append(" && ");
+        }
+        return script.append("exec \"$0\" \"$@\"").toString();
+    }
+
+    private static long toCpuSeconds(Duration cpuLimit) {
+        return Math.max(1, (cpuLimit.toMillis() + 999) / 1000);
+    }
+
+    /*
+     * An abnormal exit of a limited process is only attributed to a limit if the process was killed by a signal or
+     * reported that it ran out of memory. Any other abnormal exit is reported with its exit value and output.
+     */
+    private static Result<List<String>> getResult(
+            int exitValue, List<String> lines, boolean isLimited, long memoryLimit, Duration cpuLimit) {
+        if (!isLimited || exitValue == 0 || exitValue == EXIT_SATISFIABLE || exitValue == EXIT_UNSATISFIABLE) {
+            return Result.of(lines);
+        }
+        if (!cpuLimit.isZero()
+                && (exitValue == SIGNAL_EXIT_OFFSET + SIGXCPU || exitValue == SIGNAL_EXIT_OFFSET + SIGKILL)) {
+            return Result.empty(
+                    new SolverResourceException("Solver exceeded CPU time limit of " + toCpuSeconds(cpuLimit) + " s"));
+        }
+        if (memoryLimit > 0 && (exitValue > SIGNAL_EXIT_OFFSET || isOutOfMemory(lines))) {
+            return Result.empty(new SolverResourceException(
+                    "Solver exceeded memory limit of " + (memoryLimit >> 20) + " MiB (exit value " + exitValue + ")"));
+        }
+        return Result.empty(new IOException(
+                String.format("Solver exited with value %d: %s", exitValue, String.join("\n", lines))));
+    }
+
+    private static boolean isOutOfMemory(List<String> lines) {
+        for (String line : lines) {
+            String lowerCaseLine = line.toLowerCase(Locale.ROOT);
+            if (lowerCaseLine.contains("out of memory") || lowerCaseLine.contains("bad_alloc")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static void deleteQuietly(Path path) {
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                FeatJAR.log().warning("could not delete " + path);
+            }
+        }
+    }
+}
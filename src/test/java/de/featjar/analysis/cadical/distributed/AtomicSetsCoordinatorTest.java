@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.distributed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.cadical.computation.ComputeAtomicCadiCal;
+import de.featjar.analysis.cadical.solver.SolverGovernor;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Problem.Severity;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class AtomicSetsCoordinatorTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    private static BooleanAssignmentList loadClauses() {
+        return Computations.of(loadFormula("testFeatureModels/gpl_medium_model.xml"))
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+    }
+
+    private static BooleanAssignment allVariables(BooleanAssignmentList clauses) {
+        return new BooleanAssignment(IntStream.rangeClosed(
+                        1, clauses.getVariableMap().getVariableCount())
+                .toArray());
+    }
+
+    private static void startWorker(AtomicSetsCoordinator coordinator, CountDownLatch start) {
+        Thread worker = new Thread(() -> {
+            try {
+                start.await();
+                new AtomicSetsWorker().run(coordinator.getHost(), coordinator.getPort());
+            } catch (IOException e) {
+                FeatJAR.log().error(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /*
+     * Starts a worker that answers tasks with a failure, or does not answer at all if the failure is null, and
+     * counts down the latch when it receives its first task.
+     */
+    private static void startFaultyWorker(
+            AtomicSetsCoordinator coordinator, String failure, boolean isRepeated, CountDownLatch firstTask) {
+        Thread worker = new Thread(() -> {
+            try (Socket socket = new Socket(coordinator.getHost(), coordinator.getPort());
+                    BufferedReader in = new BufferedReader(
+                            new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    BufferedWriter out = new BufferedWriter(
+                            new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null && !line.equals(AtomicSetsCoordinator.EXIT)) {
+                    if (line.startsWith(AtomicSetsCoordinator.TASK + " ")) {
+                        firstTask.countDown();
+                        if (failure == null) {
+                            in.readLine();
+                            return;
+                        }
+                        String taskId = line.split(" ")[1];
+                        AtomicSetsCoordinator.send(out, AtomicSetsCoordinator.FAIL + " " + taskId + " " + failure);
+                        if (!isRepeated) {
+                            return;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                FeatJAR.log().error(e);
+            }
+        });
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private static String getError(Result<?> result) {
+        return result.getProblems().stream()
+                .filter(p -> p.getSeverity() == Severity.ERROR)
+                .findFirst()
+                .map(Problem::toString)
+                .orElse("");
+    }
+
+    @Test
+    public void distributedAtomicSetsEqualSequentialAtomicSets() throws Exception {
+        BooleanAssignmentList clauses = loadClauses();
+        BooleanAssignmentList sequential =
+                Computations.of(clauses).map(ComputeAtomicCadiCal::new).compute();
+
+        final Result<BooleanAssignmentList> distributed;
+        try (AtomicSetsCoordinator coordinator = new AtomicSetsCoordinator(clauses, Duration.ofMinutes(1), 4)) {
+            CountDownLatch start = new CountDownLatch(0);
+            for (int i = 0; i < 3; i++) {
+                startWorker(coordinator, start);
+            }
+            distributed = coordinator.compute(allVariables(clauses), new Progress());
+        }
+
+        assertTrue(distributed.isPresent(), () -> getError(distributed));
+        assertEquals(toSortedStrings(sequential), toSortedStrings(distributed.get()));
+    }
+
+    @Test
+    public void shardsOfKilledLocalWorkerAreReassigned() throws Exception {
+        assertAtomicSetsWhenKillingLocalWorker(2);
+    }
+
+    @Test
+    public void killedLastLocalWorkerIsRestarted() throws Exception {
+        assertAtomicSetsWhenKillingLocalWorker(1);
+    }
+
+    private static void assertAtomicSetsWhenKillingLocalWorker(int workerCount) throws Exception {
+        BooleanAssignmentList clauses = loadClauses();
+        BooleanAssignmentList sequential =
+                Computations.of(clauses).map(ComputeAtomicCadiCal::new).compute();
+
+        SolverGovernor defaultGovernor = SolverGovernor.getDefault();
+        SolverGovernor.setDefault(new SolverGovernor(workerCount, Long.MAX_VALUE, Integer.MAX_VALUE, 0, Duration.ZERO));
+        List<BooleanAssignment> streamed = new ArrayList<>();
+        final Result<Integer> distributed;
+        try (AtomicSetsCoordinator coordinator = new AtomicSetsCoordinator(clauses, Duration.ofMinutes(1), 2)) {
+            coordinator.startLocalWorkers(workerCount);
+            distributed = coordinator.compute(
+                    allVariables(clauses),
+                    atomicSet -> {
+                        if (streamed.size() == 1) {
+                            ProcessHandle.current()
+                                    .children()
+                                    .filter(p -> p.info().command().orElse("").endsWith("java"))
+                                    .findFirst()
+                                    .ifPresent(ProcessHandle::destroyForcibly);
+                        }
+                        streamed.add(atomicSet);
+                    },
+                    new Progress());
+        } finally {
+            SolverGovernor.setDefault(defaultGovernor);
+        }
+
+        assertTrue(distributed.isPresent(), () -> getError(distributed));
+        assertEquals(streamed.size(), (int) distributed.get());
+        assertEquals(toStrings(sequential.getAll()), toStrings(streamed));
+    }
+
+    @Test
+    public void progressReachesTotalSteps() throws Exception {
+        BooleanAssignmentList clauses = loadClauses();
+        Progress progress = new Progress();
+        final Result<BooleanAssignmentList> distributed;
+        try (AtomicSetsCoordinator coordinator = new AtomicSetsCoordinator(clauses, Duration.ofMinutes(1), 4)) {
+            CountDownLatch start = new CountDownLatch(0);
+            startWorker(coordinator, start);
+            startWorker(coordinator, start);
+            distributed = coordinator.compute(allVariables(clauses), progress);
+        }
+
+        assertTrue(distributed.isPresent(), () -> getError(distributed));
+        assertEquals(progress.getTotalSteps(), progress.getCurrentStep());
+    }
+
+    @Test
+    public void taskTimeoutIsDerivedFromSolverTimeout() {
+        assertEquals(Duration.ZERO, AtomicSetsCoordinator.getTaskTimeout(Duration.ZERO));
+        assertTrue(AtomicSetsCoordinator.getTaskTimeout(Duration.ofHours(1)).compareTo(Duration.ofHours(2)) > 0);
+    }
+
+    @Test
+    public void memoryBudgetIsSharedByStartedLocalWorkers() throws Exception {
+        BooleanAssignmentList clauses = loadClauses();
+        SolverGovernor defaultGovernor = SolverGovernor.getDefault();
+        SolverGovernor.setDefault(new SolverGovernor(4, 1200, Integer.MAX_VALUE, 0, Duration.ZERO));
+        try (AtomicSetsCoordinator coordinator = new AtomicSetsCoordinator(clauses, Duration.ofMinutes(1), 4)) {
+            assertEquals(300, coordinator.getWorkerMemoryBudget());
+            coordinator.startLocalWorkers(2);
+            assertEquals(600, coordinator.getWorkerMemoryBudget());
+        } finally {
+            SolverGovernor.setDefault(defaultGovernor);
+        }
+    }
+
+    @Test
+    public void failedShardIsRetried() throws Exception {
+        BooleanAssignmentList clauses = loadClauses();
+        BooleanAssignmentList sequential =
+                Computations.of(clauses).map(ComputeAtomicCadiCal::new).compute();
+
+        final Result<BooleanAssignmentList> distributed;
+        try (AtomicSetsCoordinator coordinator = new AtomicSetsCoordinator(clauses, Duration.ofMinutes(1), 4)) {
+            CountDownLatch firstTask = new CountDownLatch(1);
+            startFaultyWorker(coordinator, "injected failure", false, firstTask);
+            startWorker(coordinator, firstTask);
+            distributed = coordinator.compute(allVariables(clauses), new Progress());
+        }
+
+        assertTrue(distributed.isPresent(), () -> getError(distributed));
+        assertEquals(toStrings(sequential.getAll()), toStrings(distributed.get().getAll()));
+    }
+
+    @Test
+    public void repeatedlyFailingShardAbortsComputation() throws Exception {
+        BooleanAssignmentList clauses = loadClauses();
+        final Result<BooleanAssignmentList> distributed;
+        try (AtomicSetsCoordinator coordinator = new AtomicSetsCoordinator(clauses, Duration.ofMinutes(1), 4)) {
+            startFaultyWorker(coordinator, "injected failure", true, new CountDownLatch(1));
+            distributed = coordinator.compute(allVariables(clauses), new Progress());
+        }
+
+        assertTrue(distributed.isEmpty());
+        String error = getError(distributed);
+        assertTrue(error.contains("failed " + AtomicSetsCoordinator.MAXIMUM_TASK_ATTEMPTS + " times"), error);
+        assertTrue(error.contains("injected failure"), error);
+    }
+
+    @Test
+    public void stalledShardIsReassigned() throws Exception {
+        BooleanAssignmentList clauses = loadClauses();
+        BooleanAssignmentList sequential =
+                Computations.of(clauses).map(ComputeAtomicCadiCal::new).compute();
+
+        final Result<BooleanAssignmentList> distributed;
+        try (AtomicSetsCoordinator coordinator = new AtomicSetsCoordinator(clauses, Duration.ofMinutes(1), 4)) {
+            coordinator.setTaskTimeout(Duration.ofMillis(500));
+            CountDownLatch firstTask = new CountDownLatch(1);
+            startFaultyWorker(coordinator, null, false, firstTask);
+            startWorker(coordinator, firstTask);
+            distributed = coordinator.compute(allVariables(clauses), new Progress());
+        }
+
+        assertTrue(distributed.isPresent(), () -> getError(distributed));
+        assertEquals(toStrings(sequential.getAll()), toStrings(distributed.get().getAll()));
+    }
+
+    private static List<String> toStrings(List<BooleanAssignment> sets) {
+        return sets.stream()
+                .map(set -> IntStream.of(set.get())
+                        .sorted()
+                        .mapToObj(Integer::toString)
+                        .collect(Collectors.joining(" ")))
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> toSortedStrings(BooleanAssignmentList sets) {
+        return toStrings(sets.getAll()).stream().sorted().collect(Collectors.toList());
+    }
+}
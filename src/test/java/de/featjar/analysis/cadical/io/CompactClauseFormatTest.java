@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class CompactClauseFormatTest {
+
+    @Test
+    public void clauseListIsPreserved() throws IOException {
+        VariableMap variableMap = new VariableMap(List.of("a", "b", "c", "d"));
+        BooleanAssignmentList clauseList = new BooleanAssignmentList(variableMap);
+        clauseList.add(new BooleanAssignment(1, -2));
+        clauseList.add(new BooleanAssignment(-4, 3, -1));
+        clauseList.add(new BooleanAssignment(2));
+        clauseList.add(new BooleanAssignment());
+
+        Path path = Files.createTempFile("clauses", "." + CompactClauseFormat.FILE_EXTENSION);
+        try {
+            CompactClauseFormat.write(clauseList, path);
+            BooleanAssignmentList readClauseList =
+                    CompactClauseFormat.read(path).orElseThrow();
+
+            assertEquals(
+                    variableMap.getVariableCount(),
+                    readClauseList.getVariableMap().getVariableCount());
+            for (int i = 1; i <= variableMap.getVariableCount(); i++) {
+                assertEquals(
+                        variableMap.get(i).get(),
+                        readClauseList.getVariableMap().get(i).get());
+            }
+            assertEquals(clauseList.size(), readClauseList.size());
+            for (int i = 0; i < clauseList.size(); i++) {
+                assertArrayEquals(
+                        sorted(clauseList.get(i).get()),
+                        sorted(readClauseList.get(i).get()));
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void variableMapGapIsPreserved() throws IOException {
+        VariableMap variableMap = new VariableMap(List.of("a", "b", "c"));
+        variableMap.remove("b");
+        BooleanAssignmentList clauseList = new BooleanAssignmentList(variableMap);
+        clauseList.add(new BooleanAssignment(1, -3));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CompactClauseFormat.write(clauseList, out);
+        BooleanAssignmentList readClauseList = CompactClauseFormat.read(ByteBuffer.wrap(out.toByteArray()));
+
+        VariableMap readVariableMap = readClauseList.getVariableMap();
+        assertEquals(2, readVariableMap.getVariableCount());
+        assertEquals("a", readVariableMap.get(1).get());
+        assertTrue(readVariableMap.get(2).isEmpty());
+        assertEquals("c", readVariableMap.get(3).get());
+        assertEquals(3, (int) readVariableMap.get("c").get());
+        assertArrayEquals(new int[] {1, -3}, readClauseList.get(0).get());
+    }
+
+    private static int[] sorted(int[] literals) {
+        int[] copy = Arrays.copyOf(literals, literals.length);
+        Arrays.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class PreparedFormulaCacheTest {
+
+    private final Path directory;
+    private final PreparedFormulaCache cache;
+
+    public PreparedFormulaCacheTest() throws IOException {
+        directory = Files.createTempDirectory("preparedFormulaCacheTest");
+        cache = new PreparedFormulaCache(directory.resolve("cache"));
+    }
+
+    private void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static BooleanAssignmentList clauses(int[]... clauses) {
+        BooleanAssignmentList clauseList = new BooleanAssignmentList(new VariableMap(List.of("a", "b")));
+        for (int[] clause : clauses) {
+            clauseList.add(new BooleanAssignment(clause));
+        }
+        return clauseList;
+    }
+
+    private Path writeInput(String directoryName, String content) throws IOException {
+        Path inputFile = directory.resolve(directoryName).resolve("model.xml");
+        Files.createDirectories(inputFile.getParent());
+        return Files.writeString(inputFile, content);
+    }
+
+    private long countArtifacts() throws IOException {
+        try (Stream<Path> paths = Files.list(cache.getCacheDirectory())) {
+            return paths.count();
+        }
+    }
+
+    @Test
+    public void savedClauseListIsLoaded() throws IOException {
+        try {
+            Path inputFile = writeInput("a", "version 1");
+            assertTrue(cache.load(inputFile).isEmpty());
+
+            cache.save(inputFile, clauses(new int[] {1, -2}));
+            BooleanAssignmentList loaded = cache.load(inputFile).orElseThrow();
+            assertEquals(1, loaded.size());
+            assertArrayEquals(new int[] {1, -2}, loaded.get(0).get());
+        } finally {
+            deleteDirectory();
+        }
+    }
+
+    @Test
+    public void changedInputMissesAndReplacesArtifact() throws IOException {
+        try {
+            Path inputFile = writeInput("a", "version 1");
+            cache.save(inputFile, clauses(new int[] {1}));
+
+            writeInput("a", "version 2");
+            assertTrue(cache.load(inputFile).isEmpty());
+            cache.save(inputFile, clauses(new int[] {2}));
+            assertEquals(1, countArtifacts());
+            assertArrayEquals(new int[] {2}, cache.load(inputFile).orElseThrow().get(0).get());
+        } finally {
+            deleteDirectory();
+        }
+    }
+
+    @Test
+    public void otherPipelineVersionMissesAndReplacesArtifact() throws IOException {
+        try {
+            Path inputFile = writeInput("a", "version 1");
+            cache.save(inputFile, clauses(new int[] {1}));
+
+            PreparedFormulaCache upgradedCache = new PreparedFormulaCache(cache.getCacheDirectory(), "upgraded");
+            assertTrue(upgradedCache.load(inputFile).isEmpty());
+            upgradedCache.save(inputFile, clauses(new int[] {2}));
+            assertEquals(1, countArtifacts());
+            assertArrayEquals(new int[] {2}, upgradedCache.load(inputFile).orElseThrow().get(0).get());
+        } finally {
+            deleteDirectory();
+        }
+    }
+
+    @Test
+    public void inputsWithSameNameKeepTheirArtifacts() throws IOException {
+        try {
+            Path inputFile = writeInput("a", "version 1");
+            Path otherInputFile = writeInput("b", "version 2");
+            cache.save(inputFile, clauses(new int[] {1}));
+            cache.save(otherInputFile, clauses(new int[] {2}));
+
+            assertEquals(2, countArtifacts());
+            assertArrayEquals(new int[] {1}, cache.load(inputFile).orElseThrow().get(0).get());
+            assertArrayEquals(new int[] {2}, cache.load(otherInputFile).orElseThrow().get(0).get());
+        } finally {
+            deleteDirectory();
+        }
+    }
+
+    @Test
+    public void unrelatedFilesAreNotRemoved() throws IOException {
+        try {
+            Path inputFile = writeInput("a", "version 1");
+            cache.save(inputFile, clauses(new int[] {1}));
+            String artifactName;
+            try (Stream<Path> paths = Files.list(cache.getCacheDirectory())) {
+                artifactName = paths.findFirst().orElseThrow().getFileName().toString();
+            }
+            Path unrelatedFile = cache.getCacheDirectory()
+                    .resolve(artifactName.replace("." + CompactClauseFormat.FILE_EXTENSION, "-backup.")
+                            + CompactClauseFormat.FILE_EXTENSION);
+            Files.writeString(unrelatedFile, "");
+
+            writeInput("a", "version 2");
+            cache.save(inputFile, clauses(new int[] {2}));
+            assertTrue(Files.exists(unrelatedFile));
+            assertEquals(2, countArtifacts());
+        } finally {
+            deleteDirectory();
+        }
+    }
+}
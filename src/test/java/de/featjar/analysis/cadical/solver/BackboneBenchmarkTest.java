@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.featjar.Common;
+import de.featjar.analysis.cadical.computation.ComputeCoreCadiCal;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Compares the backbone algorithms on feature models and reports which one is the fastest for each model.
+ * The benchmark only runs if the environment variable {@value #MODELS_VARIABLE} lists the models to compare,
+ * separated by commas, e.g., {@code testFeatureModels/gpl_medium_model.xml}. Each algorithm is run once to warm up
+ * and then {@value #REPETITIONS} times, of which the median time is reported.
+ */
+public class BackboneBenchmarkTest extends Common {
+
+    static final String MODELS_VARIABLE = "FEATJAR_BACKBONE_BENCHMARK";
+
+    private static final int REPETITIONS = 5;
+    private static final int[] CHUNK_SIZES = {1, 4, 16, 64};
+
+    private static final class Candidate {
+        private final BackboneAlgorithm algorithm;
+        private final int chunkSize;
+
+        private Candidate(BackboneAlgorithm algorithm, int chunkSize) {
+            this.algorithm = algorithm;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public String toString() {
+            return algorithm == BackboneAlgorithm.CHUNKED ? algorithm + "(" + chunkSize + ")" : algorithm.toString();
+        }
+    }
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = MODELS_VARIABLE, matches = ".+")
+    public void compareBackboneAlgorithms() {
+        List<Candidate> candidates = new ArrayList<>();
+        candidates.add(new Candidate(BackboneAlgorithm.CADIBACK, ComputeCoreCadiCal.DEFAULT_CHUNK_SIZE));
+        candidates.add(new Candidate(BackboneAlgorithm.ITERATIVE, ComputeCoreCadiCal.DEFAULT_CHUNK_SIZE));
+        for (int chunkSize : CHUNK_SIZES) {
+            candidates.add(new Candidate(BackboneAlgorithm.CHUNKED, chunkSize));
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-50s %-20s %12s%n", "model", "algorithm", "median [ms]"));
+        for (String modelPath : System.getenv(MODELS_VARIABLE).split(",")) {
+            String model = modelPath.trim();
+            CadiCalSolver solver = new CadiCalSolver(loadClauses(model));
+            Set<Integer> backbone = null;
+            Candidate fastest = null;
+            long fastestMedian = Long.MAX_VALUE;
+            for (Candidate candidate : candidates) {
+                Set<Integer> candidateBackbone = computeBackbone(solver, candidate);
+                if (backbone == null) {
+                    backbone = candidateBackbone;
+                } else {
+                    assertEquals(backbone, candidateBackbone, candidate + " computed a different backbone");
+                }
+                long median = measureMedian(solver, candidate);
+                if (median < fastestMedian) {
+                    fastestMedian = median;
+                    fastest = candidate;
+                }
+                report.append(String.format("%-50s %-20s %12.1f%n", model, candidate, median / 1e6));
+            }
+            report.append(String.format("%-50s %-20s %12.1f%n", model, "fastest: " + fastest, fastestMedian / 1e6));
+        }
+        FeatJAR.log().message(report.toString());
+    }
+
+    private static ClauseStore loadClauses(String model) {
+        return ClauseStore.of(Computations.of(loadFormula(model))
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute());
+    }
+
+    private static Set<Integer> computeBackbone(CadiCalSolver solver, Candidate candidate) {
+        BooleanAssignment backbone = solver.core(candidate.algorithm, candidate.chunkSize).orElseThrow();
+        return IntStream.of(backbone.get()).boxed().collect(Collectors.toSet());
+    }
+
+    private static long measureMedian(CadiCalSolver solver, Candidate candidate) {
+        long[] times = new long[REPETITIONS];
+        for (int i = 0; i < REPETITIONS; i++) {
+            long start = System.nanoTime();
+            solver.core(candidate.algorithm, candidate.chunkSize).orElseThrow();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[REPETITIONS / 2];
+    }
+}
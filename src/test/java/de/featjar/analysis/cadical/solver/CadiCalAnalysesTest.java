@@ -20,10 +20,35 @@
  */
 package de.featjar.analysis.cadical.solver;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import de.featjar.AnalysisTest;
+import de.featjar.analysis.cadical.computation.ComputeAtomicCadiCal;
 import de.featjar.analysis.cadical.computation.ComputeCoreCadiCal;
+import de.featjar.analysis.cadical.computation.ComputeDecisionPropagationCadiCal;
 import de.featjar.analysis.cadical.computation.ComputeGetSolutionCadiCal;
+import de.featjar.analysis.cadical.computation.ComputeModelDiffCadiCal;
+import de.featjar.analysis.cadical.computation.ComputeValidateConfigurationsCadiCal;
+import de.featjar.analysis.cadical.computation.ConfigurationValidity;
+import de.featjar.analysis.cadical.computation.ModelDiff;
+import de.featjar.analysis.cadical.computation.ModelDiff.Classification;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.data.Problem.Severity;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 public class CadiCalAnalysesTest extends AnalysisTest {
@@ -33,8 +58,296 @@ public class CadiCalAnalysesTest extends AnalysisTest {
         testCore(ComputeBooleanClauseList::new, ComputeCoreCadiCal::new);
     }
 
+    @Test
+    void coreIsCorrectlyComputedIteratively() {
+        testCore(ComputeBooleanClauseList::new, formula -> new ComputeCoreCadiCal(formula)
+                .set(ComputeCoreCadiCal.ALGORITHM, BackboneAlgorithm.ITERATIVE));
+    }
+
+    @Test
+    void coreIsCorrectlyComputedInChunks() {
+        testCore(ComputeBooleanClauseList::new, formula -> new ComputeCoreCadiCal(formula)
+                .set(ComputeCoreCadiCal.ALGORITHM, BackboneAlgorithm.CHUNKED)
+                .set(ComputeCoreCadiCal.CHUNK_SIZE, 4));
+    }
+
+    @Test
+    void coreIsComputedFromClauseStore() {
+        ClauseStore clauses = ClauseStore.of(propagationFormula());
+        clauses.add(1);
+        BooleanAssignment core = new ComputeCoreCadiCal(clauses).computeResult().orElseThrow();
+        assertEquals(Set.of(1, 2, 3, -4), IntStream.of(core.get()).boxed().collect(Collectors.toSet()));
+    }
+
+    @Test
+    void atomicSetsAreComputedFromClauseStore() {
+        ClauseStore clauses = ClauseStore.of(clauses(
+                new VariableMap(List.of("a", "b", "c")), new int[] {-1, 2}, new int[] {1, -2}, new int[] {3}));
+        BooleanAssignmentList atomicSets = new ComputeAtomicCadiCal(clauses).computeResult().orElseThrow();
+        assertEquals(2, atomicSets.size());
+        assertArrayEquals(new int[] {3}, atomicSets.get(0).get());
+        assertEquals(Set.of(1, 2), IntStream.of(atomicSets.get(1).get()).boxed().collect(Collectors.toSet()));
+        assertEquals(3, clauses.getClauseCount());
+    }
+
+    @Test
+    void atomicSetConsumerReceivesSetsInOrder() {
+        List<BooleanAssignment> streamed = new ArrayList<>();
+        BooleanAssignmentList atomicSets = new ComputeAtomicCadiCal(Computations.of(atomicSetsFormula()))
+                .set(ComputeAtomicCadiCal.ATOMIC_SET_CONSUMER, streamed::add)
+                .computeResult()
+                .orElseThrow();
+        assertEquals(List.of("[3]", "[1, 2]", "[4]"), toSortedStrings(streamed));
+        assertEquals(toSortedStrings(streamed), toSortedStrings(atomicSets.getAll()));
+    }
+
+    @Test
+    void atomicSetsAreOnlyStreamedIfNotCollected() {
+        List<BooleanAssignment> streamed = new ArrayList<>();
+        BooleanAssignmentList atomicSets = new ComputeAtomicCadiCal(Computations.of(atomicSetsFormula()))
+                .set(ComputeAtomicCadiCal.ATOMIC_SET_CONSUMER, streamed::add)
+                .set(ComputeAtomicCadiCal.COLLECT_SETS, Boolean.FALSE)
+                .computeResult()
+                .orElseThrow();
+        assertEquals(0, atomicSets.size());
+        assertEquals(3, streamed.size());
+    }
+
     @Test
     void computedSolutionIsSatisfying() {
         testSolution(ComputeBooleanClauseList::new, ComputeGetSolutionCadiCal::new);
     }
+
+    @Test
+    void projectedCoreIsComputedInChunks() {
+        assertEquals(Set.of(2), projectedCore(BackboneAlgorithm.CADIBACK, 2));
+        assertEquals(Set.of(1, 2, -3), projectedCore(BackboneAlgorithm.CHUNKED, 1, 2, 3, 4));
+    }
+
+    @Test
+    void projectedCoreIsComputedByCadiBack() {
+        assertEquals(Set.of(2, -3), projectedCore(BackboneAlgorithm.CADIBACK, 2, 3, 4, 5));
+    }
+
+    @Test
+    void projectedSolutionOmitsOtherVariables() {
+        int[] solution = new ComputeGetSolutionCadiCal(Computations.of(projectionFormula()))
+                .set(ComputeGetSolutionCadiCal.VARIABLES_OF_INTEREST, new BooleanAssignment(1, 3))
+                .computeResult()
+                .orElseThrow()
+                .get();
+        int[] expected = new int[10];
+        expected[0] = 1;
+        expected[2] = -3;
+        assertArrayEquals(expected, solution);
+    }
+
+    @Test
+    void modelDiffIsClassified() {
+        VariableMap variables = new VariableMap(List.of("a", "b", "c"));
+        BooleanAssignmentList oldFormula = clauses(variables, new int[] {-1, 2});
+
+        assertEquals(
+                Classification.EQUIVALENT,
+                diff(oldFormula, clauses(variables, new int[] {2, -1}, new int[] {-1, 2, 3}))
+                        .getClassification());
+        assertEquals(
+                Classification.SPECIALIZATION,
+                diff(oldFormula, clauses(variables, new int[] {-1, 2}, new int[] {3}))
+                        .getClassification());
+        assertEquals(
+                Classification.ARBITRARY,
+                diff(oldFormula, clauses(variables, new int[] {1, -2})).getClassification());
+
+        ModelDiff generalization = diff(oldFormula, clauses(variables, new int[] {-1, 2, 3}));
+        assertEquals(Classification.GENERALIZATION, generalization.getClassification());
+        assertEquals(1, generalization.getAddedConfigurations().size());
+        int[] witness = generalization.getAddedConfigurations().get(0).getWitness().get();
+        assertArrayEquals(new int[] {1, -2, 3}, witness);
+    }
+
+    @Test
+    void modelDiffIsInClauseOrder() {
+        VariableMap variables = new VariableMap(List.of("a", "b", "c"));
+        ModelDiff diff = diff(clauses(variables, new int[] {-1}, new int[] {1, 2}, new int[] {3}), clauses(variables));
+        List<ModelDiff.Difference> added = diff.getAddedConfigurations();
+        assertEquals(3, added.size());
+        assertArrayEquals(new int[] {-1}, added.get(0).getClause().get());
+        assertArrayEquals(new int[] {1, 2}, added.get(1).getClause().get());
+        assertArrayEquals(new int[] {3}, added.get(2).getClause().get());
+    }
+
+    @Test
+    void invalidModelDiffChunkSizeIsReported() {
+        VariableMap variables = new VariableMap(List.of("a", "b"));
+        Result<ModelDiff> diff = new ComputeModelDiffCadiCal(
+                        Computations.of(clauses(variables, new int[] {1})), Computations.of(clauses(variables)))
+                .set(ComputeModelDiffCadiCal.CHUNK_SIZE, 0)
+                .computeResult();
+        assertTrue(diff.isEmpty());
+        assertTrue(diff.getProblems().stream().anyMatch(p -> p.getSeverity() == Severity.ERROR));
+    }
+
+    @Test
+    void decisionsImplyAndBlockLiterals() {
+        BooleanAssignment implied = propagate(propagationFormula(), Duration.ZERO, 1).orElseThrow();
+        assertArrayEquals(new int[] {2, 3, -4}, implied.get());
+    }
+
+    @Test
+    void contradictoryDecisionsAreReported() {
+        Result<BooleanAssignment> implied = propagate(propagationFormula(), Duration.ZERO, 1, -3);
+        assertTrue(implied.isEmpty());
+        assertTrue(implied.getProblems().stream().anyMatch(p -> p.getSeverity() == Severity.ERROR));
+    }
+
+    @Test
+    void exceededBudgetYieldsPartialResult() {
+        Result<BooleanAssignment> implied = propagate(propagationFormula(), Duration.ofNanos(1), 1);
+        assertTrue(implied.isPresent());
+        assertTrue(implied.getProblems().stream().anyMatch(p -> p.getSeverity() == Severity.WARNING));
+        List<Integer> expected = List.of(2, 3, -4);
+        assertTrue(IntStream.of(implied.get().get()).allMatch(expected::contains));
+    }
+
+    @Test
+    void invalidChunkSizeIsReported() {
+        Result<BooleanAssignment> implied = new ComputeDecisionPropagationCadiCal(
+                        Computations.of(propagationFormula()))
+                .set(ComputeDecisionPropagationCadiCal.CHUNK_SIZE, 0)
+                .computeResult();
+        assertTrue(implied.isEmpty());
+        assertTrue(implied.getProblems().stream().anyMatch(p -> p.getSeverity() == Severity.ERROR));
+    }
+
+    @Test
+    void configurationsAreValidated() {
+        List<ConfigurationValidity> validities = validate(
+                true,
+                new int[] {1, 2, 3, -4, 5},
+                new int[] {1, -2, 3, -4, 5},
+                new int[] {1, -3, 5},
+                new int[] {1, 2},
+                new int[] {1, -1},
+                new int[] {1, 7});
+        assertTrue(validities.get(0).isValid());
+        assertInvalid(validities.get(1), 1, -2);
+        assertInvalid(validities.get(2), 1, -3);
+        assertTrue(validities.get(3).isValid());
+        assertInvalid(validities.get(4), 1, -1);
+        assertInvalid(validities.get(5), 7);
+    }
+
+    @Test
+    void invalidPartialConfigurationIsNotExplainedOnRequest() {
+        assertInvalid(validate(false, new int[] {1, -3, 5}).get(0), 1, -3, 5);
+    }
+
+    @Test
+    void variableMapGapsAreRespected() {
+        BooleanAssignmentList formula = gapFormula();
+        BooleanAssignment implied = propagate(formula, Duration.ZERO, 1).orElseThrow();
+        assertArrayEquals(new int[] {3}, implied.get());
+
+        List<ConfigurationValidity> validities = new ComputeValidateConfigurationsCadiCal(
+                        Computations.of(formula),
+                        Computations.of(clauses(
+                                formula.getVariableMap(), new int[] {1, 3}, new int[] {1, -3}, new int[] {2})))
+                .computeResult()
+                .orElseThrow();
+        assertTrue(validities.get(0).isValid());
+        assertInvalid(validities.get(1), 1, -3);
+        assertInvalid(validities.get(2), 2);
+    }
+
+    private static void assertInvalid(ConfigurationValidity validity, int... explanation) {
+        assertFalse(validity.isValid());
+        assertArrayEquals(explanation, validity.getExplanation().get());
+    }
+
+    private static List<ConfigurationValidity> validate(boolean explain, int[]... configurations) {
+        BooleanAssignmentList formula = propagationFormula();
+        return new ComputeValidateConfigurationsCadiCal(
+                        Computations.of(formula), Computations.of(clauses(formula.getVariableMap(), configurations)))
+                .set(ComputeValidateConfigurationsCadiCal.EXPLAIN, explain)
+                .computeResult()
+                .orElseThrow();
+    }
+
+    /*
+     * Ten variables, so that a single variable of interest is below the projection ratio and four are above it.
+     */
+    private static BooleanAssignmentList projectionFormula() {
+        return clauses(
+                new VariableMap(List.of("a", "b", "c", "d", "e", "f", "g", "h", "i", "j")),
+                new int[] {1},
+                new int[] {-1, 2},
+                new int[] {-3},
+                new int[] {4, 5});
+    }
+
+    private static Set<Integer> projectedCore(BackboneAlgorithm algorithm, int... variables) {
+        BooleanAssignment core = new ComputeCoreCadiCal(Computations.of(projectionFormula()))
+                .set(ComputeCoreCadiCal.ALGORITHM, algorithm)
+                .set(ComputeCoreCadiCal.VARIABLES_OF_INTEREST, new BooleanAssignment(variables))
+                .computeResult()
+                .orElseThrow();
+        return IntStream.of(core.get()).boxed().collect(Collectors.toSet());
+    }
+
+    /*
+     * The core is {c}, a and b are equivalent, and d is unconstrained.
+     */
+    private static BooleanAssignmentList atomicSetsFormula() {
+        return clauses(
+                new VariableMap(List.of("a", "b", "c", "d")), new int[] {-1, 2}, new int[] {1, -2}, new int[] {3});
+    }
+
+    /*
+     * Sorts the literals of each set, so that sets can be compared independently of the solver's literal order.
+     */
+    private static List<String> toSortedStrings(List<BooleanAssignment> sets) {
+        return sets.stream()
+                .map(set -> Arrays.toString(IntStream.of(set.get()).sorted().toArray()))
+                .collect(Collectors.toList());
+    }
+
+    /*
+     * Variable b is removed, so the highest variable index exceeds the number of variables.
+     */
+    private static BooleanAssignmentList gapFormula() {
+        VariableMap variables = new VariableMap(List.of("a", "b", "c"));
+        variables.remove("b");
+        return clauses(variables, new int[] {-1, 3});
+    }
+
+    private static BooleanAssignmentList propagationFormula() {
+        return clauses(
+                new VariableMap(List.of("a", "b", "c", "d", "e")),
+                new int[] {-1, 2},
+                new int[] {-2, 3},
+                new int[] {-3, -4});
+    }
+
+    private static Result<BooleanAssignment> propagate(
+            BooleanAssignmentList formula, Duration budget, int... decisions) {
+        return new ComputeDecisionPropagationCadiCal(Computations.of(formula))
+                .set(ComputeDecisionPropagationCadiCal.DECISIONS, new BooleanAssignment(decisions))
+                .set(ComputeDecisionPropagationCadiCal.BUDGET, budget)
+                .computeResult();
+    }
+
+    private static BooleanAssignmentList clauses(VariableMap variables, int[]... clauses) {
+        BooleanAssignmentList clauseList = new BooleanAssignmentList(variables);
+        for (int[] clause : clauses) {
+            clauseList.add(new BooleanAssignment(clause));
+        }
+        return clauseList;
+    }
+
+    private static ModelDiff diff(BooleanAssignmentList oldFormula, BooleanAssignmentList newFormula) {
+        return new ComputeModelDiffCadiCal(Computations.of(oldFormula), Computations.of(newFormula))
+                .computeResult()
+                .orElseThrow();
+    }
 }
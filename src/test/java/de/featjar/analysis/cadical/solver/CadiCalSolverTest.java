@@ -20,9 +20,16 @@
  */
 package de.featjar.analysis.cadical.solver;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
 
 import de.featjar.Common;
 import de.featjar.analysis.cadical.computation.ComputeGetSolutionCadiCal;
@@ -31,6 +38,8 @@ import de.featjar.base.computation.Computations;
 import de.featjar.base.data.Problem;
 import de.featjar.base.data.Result;
 import de.featjar.base.data.Problem.Severity;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanSolution;
 import de.featjar.formula.assignment.ComputeBooleanClauseList;
 import de.featjar.formula.computation.ComputeCNFFormula;
@@ -79,6 +88,117 @@ public class CadiCalSolverTest extends Common {
         checkSolution(formula, 960);
     }
 
+    @Test
+    public void satisfyingPhaseHintIsReused() {
+        ClauseStore clauses = new ClauseStore(new VariableMap(List.of("a", "b", "c")));
+        clauses.add(-1, 2);
+        clauses.add(2, 3);
+        clauses.add(2, -3);
+        CadiCalSolver solver = new CadiCalSolver(clauses);
+        solver.setPhaseHint(new BooleanAssignment(1, 2));
+        assertArrayEquals(new int[] {1, 2, -3}, solver.getSolution().get().get());
+        assertTrue(solver.hasSolution(new BooleanAssignment(1, -3)).get());
+        assertArrayEquals(new int[] {2}, solver.core(BackboneAlgorithm.ITERATIVE, 1).get().get());
+    }
+
+    @Test
+    public void cancelledQueryStopsSolverProcess() throws InterruptedException {
+        CadiCalSolver solver = new CadiCalSolver(pigeonHoles(14));
+        CompletableFuture<Result<BooleanSolution>> future = solver.getSolutionAsync();
+        assertTrue(waitFor(() -> hasRunningChildProcess()), "solver process was not started");
+        assertTrue(future.cancel(true));
+        assertTrue(waitFor(() -> !hasRunningChildProcess()), "solver process is still running");
+    }
+
+    @Test
+    public void queuedQueryUsesClausesAtSubmission() {
+        SolverGovernor governor = new SolverGovernor(1, Long.MAX_VALUE, 10, 0, Duration.ZERO);
+        CompletableFuture<Result<Boolean>> slot = new CompletableFuture<>();
+        governor.submit(0, () -> slot);
+
+        ClauseStore clauses = new ClauseStore(new VariableMap(List.of("a")));
+        clauses.add(1);
+        CadiCalSolver solver = new CadiCalSolver(clauses);
+        solver.setGovernor(governor);
+        int mark = clauses.mark();
+        clauses.add(-1);
+        CompletableFuture<Result<Boolean>> satisfiable = solver.hasSolutionAsync();
+        clauses.rollback(mark);
+        assertEquals(1, governor.getQueueDepth());
+
+        slot.complete(Result.of(Boolean.TRUE));
+        assertFalse(satisfiable.join().get());
+    }
+
+    @Test
+    public void budgetExpiringDuringSolverCallYieldsPartialResult() {
+        CadiCalSolver solver = new CadiCalSolver(pigeonHoles(10));
+        long start = System.nanoTime();
+        Result<BooleanAssignment> implied = solver.propagate(new BooleanAssignment(), 16, Duration.ofMillis(200));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(10)) < 0);
+        assertTrue(implied.isPresent());
+        assertTrue(implied.getProblems().stream().anyMatch(p -> p.getSeverity() == Severity.WARNING));
+    }
+
+    @Test
+    public void budgetExpiringInSolverQueueYieldsPartialResult() {
+        SolverGovernor governor = new SolverGovernor(1, Long.MAX_VALUE, 10, 0, Duration.ZERO);
+        CompletableFuture<Result<Boolean>> slot = new CompletableFuture<>();
+        governor.submit(0, () -> slot);
+
+        ClauseStore clauses = new ClauseStore(new VariableMap(List.of("a", "b")));
+        clauses.add(-1, 2);
+        CadiCalSolver solver = new CadiCalSolver(clauses);
+        solver.setGovernor(governor);
+        Result<BooleanAssignment> implied = solver.propagate(new BooleanAssignment(1), 16, Duration.ofMillis(200));
+        assertTrue(implied.isPresent());
+        assertTrue(implied.getProblems().stream().anyMatch(p -> p.getSeverity() == Severity.WARNING));
+        assertEquals(0, governor.getQueueDepth());
+        slot.complete(Result.of(Boolean.TRUE));
+    }
+
+    /**
+     * Creates the unsatisfiable formula that places n + 1 pigeons into n holes, which is hard for resolution-based
+     * solvers.
+     */
+    private static ClauseStore pigeonHoles(int holes) {
+        int pigeons = holes + 1;
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < pigeons * holes; i++) {
+            names.add("p" + i);
+        }
+        ClauseStore clauses = new ClauseStore(new VariableMap(names));
+        for (int p = 0; p < pigeons; p++) {
+            int[] clause = new int[holes];
+            for (int h = 0; h < holes; h++) {
+                clause[h] = p * holes + h + 1;
+            }
+            clauses.add(clause);
+        }
+        for (int h = 0; h < holes; h++) {
+            for (int p1 = 0; p1 < pigeons; p1++) {
+                for (int p2 = p1 + 1; p2 < pigeons; p2++) {
+                    clauses.add(-(p1 * holes + h + 1), -(p2 * holes + h + 1));
+                }
+            }
+        }
+        return clauses;
+    }
+
+    private static boolean hasRunningChildProcess() {
+        return ProcessHandle.current().children().anyMatch(ProcessHandle::isAlive);
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+
     private void checkSolution(final IFormula formula, int count) {
         IFormula cnf = formula.toCNF().orElseThrow();
         final Result<BooleanSolution> result = Computations.of(formula)
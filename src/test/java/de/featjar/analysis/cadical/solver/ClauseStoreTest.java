@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.solver;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.formula.VariableMap;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ClauseStoreTest {
+
+    @Test
+    public void clausesAreRolledBack() {
+        ClauseStore clauses = new ClauseStore(new VariableMap(List.of("a", "b", "c")), 1, 1);
+        clauses.add(1, -2);
+        clauses.add(3);
+        int mark = clauses.mark();
+        clauses.add(-1, 2, 5);
+        assertEquals(3, clauses.getClauseCount());
+        assertEquals(5, clauses.getVariableCount());
+
+        clauses.rollback(mark);
+        assertEquals(2, clauses.getClauseCount());
+        assertEquals(3, clauses.getLiteralCount());
+        assertEquals(3, clauses.getVariableCount());
+        assertArrayEquals(new int[] {1, -2}, clauses.getClause(0));
+        assertArrayEquals(new int[] {3}, clauses.getClause(1));
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        ClauseStore clauses = new ClauseStore(new VariableMap(List.of("a", "b", "c")));
+        clauses.add(1, -2);
+        ClauseStore copy = new ClauseStore(clauses);
+        copy.add(3);
+        clauses.add(-3);
+        assertEquals(2, copy.getClauseCount());
+        assertArrayEquals(new int[] {1, -2}, copy.getClause(0));
+        assertArrayEquals(new int[] {3}, copy.getClause(1));
+        assertArrayEquals(new int[] {-3}, clauses.getClause(1));
+    }
+
+    @Test
+    public void solutionIsChecked() {
+        ClauseStore clauses = new ClauseStore(new VariableMap(List.of("a", "b", "c")));
+        clauses.add(1, -2);
+        clauses.add(3);
+        assertTrue(clauses.isSatisfiedBy(new int[] {1, 2, 3}));
+        assertTrue(clauses.isSatisfiedBy(new int[] {-1, -2, 3}));
+        assertFalse(clauses.isSatisfiedBy(new int[] {-1, 2, 3}));
+        assertFalse(clauses.isSatisfiedBy(new int[] {1, 2, -3}));
+    }
+
+    @Test
+    public void dimacsIsWritten() throws IOException {
+        ClauseStore clauses = new ClauseStore(new VariableMap(List.of("a", "b", "c")));
+        clauses.add(1, -2);
+        clauses.add(-3);
+        StringWriter writer = new StringWriter();
+        DimacsClauseWriter.write(clauses, List.of(new int[] {-12, 10}), writer);
+        assertEquals("p cnf 12 3\n1 -2 0\n-3 0\n-12 10 0\n", writer.toString());
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.data.Result;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+public class SolverGovernorTest {
+
+    private final List<CompletableFuture<Result<Integer>>> processes = new ArrayList<>();
+
+    private CompletableFuture<Result<Integer>> submit(SolverGovernor governor, long estimatedMemory) {
+        return governor.submit(estimatedMemory, () -> {
+            CompletableFuture<Result<Integer>> process = new CompletableFuture<>();
+            processes.add(process);
+            return process;
+        });
+    }
+
+    @Test
+    public void runsAreQueuedUntilProcessesFinish() {
+        SolverGovernor governor = new SolverGovernor(2, 100, 10, 0, Duration.ZERO);
+        CompletableFuture<Result<Integer>> first = submit(governor, 10);
+        submit(governor, 10);
+        CompletableFuture<Result<Integer>> third = submit(governor, 10);
+        assertEquals(2, processes.size());
+        assertEquals(2, governor.getRunningCount());
+        assertEquals(1, governor.getQueueDepth());
+
+        processes.get(0).complete(Result.of(1));
+        assertEquals(1, (int) first.join().get());
+        assertEquals(3, processes.size());
+        assertEquals(0, governor.getQueueDepth());
+
+        processes.get(2).complete(Result.of(3));
+        assertEquals(3, (int) third.join().get());
+        assertEquals(1, governor.getRunningCount());
+        assertEquals(10, governor.getReservedMemory());
+    }
+
+    @Test
+    public void runsAreQueuedUntilMemoryIsReleased() {
+        SolverGovernor governor = new SolverGovernor(4, 100, 10, 0, Duration.ZERO);
+        submit(governor, 60);
+        submit(governor, 60);
+        assertEquals(1, processes.size());
+        assertEquals(1, governor.getQueueDepth());
+
+        processes.get(0).complete(Result.of(1));
+        assertEquals(2, processes.size());
+        assertEquals(60, governor.getReservedMemory());
+    }
+
+    @Test
+    public void runsAreRejectedBeyondBudgetAndQueueLength() {
+        SolverGovernor governor = new SolverGovernor(1, 100, 1, 0, Duration.ZERO);
+        Result<Integer> tooLarge = submit(governor, 101).join();
+        assertTrue(tooLarge.isEmpty());
+
+        submit(governor, 10);
+        submit(governor, 10);
+        Result<Integer> queueFull = submit(governor, 10).join();
+        assertTrue(queueFull.isEmpty());
+        assertEquals(2, governor.getRejectionCount());
+        assertEquals(1, governor.getQueueDepth());
+    }
+
+    @Test
+    public void cancelledRunsLeaveTheQueue() {
+        SolverGovernor governor = new SolverGovernor(1, 100, 10, 0, Duration.ZERO);
+        submit(governor, 10);
+        CompletableFuture<Result<Integer>> queued = submit(governor, 10);
+        queued.cancel(true);
+        assertEquals(0, governor.getQueueDepth());
+
+        processes.get(0).complete(Result.of(1));
+        assertEquals(1, processes.size());
+        assertEquals(0, governor.getRunningCount());
+        assertFalse(processes.get(0).isCancelled());
+    }
+}
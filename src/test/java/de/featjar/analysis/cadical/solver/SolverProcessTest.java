@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-cadical.
+ *
+ * formula-analysis-cadical is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-cadical is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-cadical. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-cadical> for further information.
+ */
+package de.featjar.analysis.cadical.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class SolverProcessTest {
+
+    private static final long MEMORY_LIMIT = 1L << 30;
+
+    private static Result<List<String>> run(String script) throws IOException {
+        Path input = Files.createTempFile("solverProcessTest", ".txt");
+        return SolverProcess.start(
+                        Paths.get("/bin/sh"),
+                        List.of("-c", script),
+                        input,
+                        Duration.ZERO,
+                        true,
+                        MEMORY_LIMIT,
+                        Duration.ZERO)
+                .join();
+    }
+
+    private static String getMessage(Result<?> result) {
+        List<Problem> problems = result.getProblems();
+        assertEquals(1, problems.size());
+        return problems.get(0).getMessage();
+    }
+
+    @Test
+    public void solverExitValuesAreAccepted() throws IOException {
+        Result<List<String>> result = run("echo 's UNSATISFIABLE'; exit 20");
+        assertEquals(List.of("s UNSATISFIABLE"), result.get());
+    }
+
+    @Test
+    public void otherExitValuesAreReportedWithOutput() throws IOException {
+        String message = getMessage(run("echo 'c unexpected input'; exit 3"));
+        assertTrue(message.contains("exited with value 3"), message);
+        assertTrue(message.contains("c unexpected input"), message);
+        assertFalse(message.contains("memory limit"), message);
+    }
+
+    @Test
+    public void outOfMemoryIsAttributedToMemoryLimit() throws IOException {
+        String message = getMessage(run("echo 'c error: out of memory'; exit 1"));
+        assertTrue(message.contains("memory limit"), message);
+        message = getMessage(run("kill -SEGV $$"));
+        assertTrue(message.contains("memory limit"), message);
+    }
+}